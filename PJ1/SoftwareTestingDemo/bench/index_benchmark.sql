@@ -0,0 +1,64 @@
+-- 索引前后查询耗时对比，需要 MySQL 8.0.18+（EXPLAIN ANALYZE）。
+-- 在 SoftwareTestingDemo 目录下执行：
+--   mysql -uroot -p --table < bench/index_benchmark.sql > bench/result.txt
+-- 会新建并在结束时删除 demo_bench 库，不影响 demo_db。
+-- 数据量：用户 5000、场馆 50、订单 50万、留言 20万、新闻 2万。
+-- 看每条 EXPLAIN ANALYZE 第一行的 actual time（毫秒）和访问方式（Table scan / Index lookup）。
+-- 仓库里没有提交运行结果，索引前后的耗时要在有 MySQL 的环境里跑一次才能得到。
+
+DROP DATABASE IF EXISTS demo_bench;
+CREATE DATABASE demo_bench DEFAULT CHARSET utf8;
+USE demo_bench;
+
+SOURCE src/main/resources/db/migration/V1__init_schema.sql;
+
+-- 0..999999 的序号表
+CREATE TABLE seq (n int NOT NULL PRIMARY KEY);
+INSERT INTO seq (n)
+SELECT a.d + b.d*10 + c.d*100 + d.d*1000 + e.d*10000 + f.d*100000
+FROM (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) a,
+     (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) b,
+     (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) c,
+     (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) d,
+     (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) e,
+     (SELECT 0 d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+      UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) f;
+
+INSERT INTO `user` (userID, password, email, phone, isadmin, user_name, picture)
+SELECT CONCAT('user', n), 'pwd', '', '', IF(n < 5, 1, 0), CONCAT('name', n), '' FROM seq WHERE n < 5000;
+
+INSERT INTO venue (description, price, picture, venue_name, address, close_time, open_time)
+SELECT '', 100, '', CONCAT('venue', n), '', '22:00', '08:00' FROM seq WHERE n < 50;
+
+-- 订单分布在2024年全年，状态1~4
+INSERT INTO `order` (userID, venueID, order_time, start_time, hours, state, total)
+SELECT CONCAT('user', n % 5000), 1 + n % 50,
+       '2024-01-01' + INTERVAL (n * 61) % 31536000 SECOND,
+       DATE('2024-01-01' + INTERVAL (n * 61) % 31536000 SECOND) + INTERVAL (8 + n % 12) HOUR,
+       1 + n % 3, 1 + n % 4, 100 * (1 + n % 3)
+FROM seq WHERE n < 500000;
+
+INSERT INTO message (state, userID, content, time)
+SELECT 1 + n % 3, CONCAT('user', n % 5000), 'bench', '2024-01-01' + INTERVAL (n * 157) % 31536000 SECOND
+FROM seq WHERE n < 200000;
+
+INSERT INTO news (title, content, time)
+SELECT CONCAT('news', n), 'bench', '2024-01-01' + INTERVAL (n * 1571) % 31536000 SECOND FROM seq WHERE n < 20000;
+
+ANALYZE TABLE `order`, message, news, `user`, venue;
+
+SET @phase = 'before';
+SOURCE bench/queries.sql;
+
+SOURCE src/main/resources/db/migration/V2__query_indexes.sql;
+ANALYZE TABLE `order`, message, news, `user`, venue;
+
+SET @phase = 'after';
+SOURCE bench/queries.sql;
+
+DROP DATABASE demo_bench;
@@ -0,0 +1,19 @@
+-- 每条对应一个 DAO 方法，由 index_benchmark.sql 在建索引前后各 SOURCE 一次
+SELECT @phase AS phase, 'OrderDao.findByVenueIDAndStartTimeIsBetween' AS query;
+EXPLAIN ANALYZE SELECT * FROM `order` WHERE venueID = 7 AND start_time BETWEEN '2024-06-01' AND '2024-06-02';
+SELECT @phase AS phase, 'OrderDao.findVoByState (未审核订单第一页)' AS query;
+EXPLAIN ANALYZE SELECT * FROM `order` WHERE state = 1 ORDER BY order_time DESC LIMIT 10;
+SELECT @phase AS phase, 'OrderDao.findVoByUserID (用户订单第一页)' AS query;
+EXPLAIN ANALYZE SELECT * FROM `order` WHERE userID = 'user42' ORDER BY order_time DESC LIMIT 5;
+SELECT @phase AS phase, 'OrderDao.findAllByUserID count' AS query;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM `order` WHERE userID = 'user42';
+SELECT @phase AS phase, 'MessageDao.findAllByState (已通过留言第一页)' AS query;
+EXPLAIN ANALYZE SELECT * FROM message WHERE state = 2 ORDER BY time DESC LIMIT 5;
+SELECT @phase AS phase, 'MessageDao.findAllByUserID' AS query;
+EXPLAIN ANALYZE SELECT * FROM message WHERE userID = 'user42' ORDER BY time DESC LIMIT 5;
+SELECT @phase AS phase, 'NewsDao.findAll (新闻第一页)' AS query;
+EXPLAIN ANALYZE SELECT * FROM news ORDER BY time DESC LIMIT 5;
+SELECT @phase AS phase, 'UserDao.findByUserIDAndPassword' AS query;
+EXPLAIN ANALYZE SELECT * FROM `user` WHERE userID = 'user4242' AND password = 'pwd';
+SELECT @phase AS phase, 'VenueDao.findByVenueName' AS query;
+EXPLAIN ANALYZE SELECT * FROM venue WHERE venue_name = 'venue42';
@@ -15,6 +15,30 @@ Date: 2020-01-02 22:39:17
 
 SET FOREIGN_KEY_CHECKS=0;
 
+-- ----------------------------
+-- Table structure for booking_slot
+-- ----------------------------
+DROP TABLE IF EXISTS `booking_slot`;
+CREATE TABLE `booking_slot` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `venueID` int(11) NOT NULL,
+  `slot_start` datetime NOT NULL,
+  `orderID` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_venue_slot` (`venueID`,`slot_start`),
+  KEY `orderID` (`orderID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- ----------------------------
+-- Table structure for counter
+-- ----------------------------
+DROP TABLE IF EXISTS `counter`;
+CREATE TABLE `counter` (
+  `name` varchar(64) NOT NULL,
+  `n` bigint(20) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
 -- ----------------------------
 -- Table structure for message
 -- ----------------------------
@@ -25,7 +49,9 @@ CREATE TABLE `message` (
   `userID` varchar(25) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL,
   `content` varchar(5000) DEFAULT NULL,
   `time` datetime DEFAULT NULL,
-  PRIMARY KEY (`messageID`)
+  PRIMARY KEY (`messageID`),
+  KEY `idx_message_state_time` (`state`,`time`),
+  KEY `idx_message_user_time` (`userID`,`time`)
 ) ENGINE=InnoDB AUTO_INCREMENT=25 DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -52,7 +78,8 @@ CREATE TABLE `news` (
   `title` varchar(100) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL,
   `content` varchar(5000) DEFAULT NULL,
   `time` datetime(6) DEFAULT NULL,
-  PRIMARY KEY (`newsID`)
+  PRIMARY KEY (`newsID`),
+  KEY `idx_news_time` (`time`)
 ) ENGINE=InnoDB AUTO_INCREMENT=16 DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -76,8 +103,9 @@ CREATE TABLE `order` (
   `state` int(1) DEFAULT NULL,
   `total` int(5) DEFAULT NULL,
   PRIMARY KEY (`orderID`),
-  KEY `userID` (`userID`),
-  KEY `gymID` (`venueID`)
+  KEY `idx_order_state_order_time` (`state`,`order_time`),
+  KEY `idx_order_venue_start_time` (`venueID`,`start_time`),
+  KEY `idx_order_user_order_time` (`userID`,`order_time`)
 ) ENGINE=InnoDB AUTO_INCREMENT=31 DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -108,7 +136,9 @@ CREATE TABLE `user` (
   `isadmin` int(10) NOT NULL,
   `user_name` varchar(255) DEFAULT NULL,
   `picture` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`id`)
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_user_userid` (`userID`),
+  KEY `idx_user_isadmin` (`isadmin`)
 ) ENGINE=InnoDB AUTO_INCREMENT=28 DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -135,7 +165,8 @@ CREATE TABLE `venue` (
   `address` varchar(255) DEFAULT NULL,
   `close_time` varchar(255) DEFAULT NULL,
   `open_time` varchar(255) DEFAULT NULL,
-  PRIMARY KEY (`venueID`)
+  PRIMARY KEY (`venueID`),
+  UNIQUE KEY `uk_venue_name` (`venue_name`)
 ) ENGINE=InnoDB AUTO_INCREMENT=29 DEFAULT CHARSET=utf8;
 
 -- ----------------------------
@@ -147,3 +178,11 @@ INSERT INTO `venue` VALUES ('17', ' 体育馆占地面积达13900平方米，总
 INSERT INTO `venue` VALUES ('18', ' 可根据使用需求进行多种布置，舞台、主席台可灵活设置，具有很高的综合使用性能。馆内日常布置1片标准篮球场，14片羽毛球场，8张乒乓球桌。体育馆共设有固定座位6785座，其中一楼960座，二楼看台2437座，三楼3388座。\r\n\r\n   体育馆穹顶采用轮辐式张拉梁结构，屋盖跨度100米，馆内配备有专用运动木地板、中央空调、高清LED大屏、视频监控、自动消防系统，灯光音响的设置标准满 足比赛现场直播的要求，体育馆荣获“中国钢结构金刚奖”和“建设工程鲁班奖”两个建设工程领域国家级奖项。', '1000', '', '场馆4', '上海市静安区', '20:00', '09:00 ');
 INSERT INTO `venue` VALUES ('20', '体育中心占地面积 30.87万平方米，总建筑面积23.83万平方米，由两场两馆组成（即体育场，网球场，体育馆，游泳场馆）； 下设综合管理部、游泳场馆管理部、体育馆管理部、体育场管理部，等四个部门。', '800', '', '场馆5', '上海市杨浦区', '22:00', '08:00 ');
 INSERT INTO `venue` VALUES ('21', ' 综合训练馆是体育教学、运动训练基地，总建筑面积1.2万平方米，高度23米，屋盖为钢结构网架。室内运动 场地面积约1万平方米，馆内场地可根据使用需求进行多种布置，具有很高的综合使用性能。馆内主运动场地长153米，宽56米，日常布置3片配备专业运动木 地板的篮球场、2片塑胶五人制足球场，21片塑胶地面羽毛球场，40张乒乓球桌。馆内其他功能房间还设有1个健身室，1个体操健美操室、2个壁球室，8个 室内高尔夫教学间、1个瑜伽室、1个体育教室和多间教学办公辅助用房。', '700', '', '场馆6', '上海市浦东新区', '20:00', '08:00 ');
+
+-- ----------------------------
+-- Records of counter
+-- ----------------------------
+INSERT INTO `counter` (name, n) SELECT CONCAT('order:state:', state), COUNT(*) FROM `order` WHERE state IS NOT NULL GROUP BY state;
+INSERT INTO `counter` (name, n) SELECT CONCAT('order:user:', userID), COUNT(*) FROM `order` WHERE userID IS NOT NULL GROUP BY userID;
+INSERT INTO `counter` (name, n) SELECT CONCAT('message:state:', state), COUNT(*) FROM `message` WHERE state IS NOT NULL GROUP BY state;
+INSERT INTO `counter` (name, n) SELECT CONCAT('message:user:', userID), COUNT(*) FROM `message` WHERE userID IS NOT NULL GROUP BY userID;
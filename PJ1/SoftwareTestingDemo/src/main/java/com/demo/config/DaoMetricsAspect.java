@@ -0,0 +1,121 @@
+package com.demo.config;
+
+import com.demo.utils.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个 Dao 方法的调用次数和耗时，记为 dao.calls{repository,method}。
+ * Timer 按 (Dao, 方法) 缓存，调用时只查一次 ConcurrentHashMap 再记录，不加锁。
+ * 同时累计当前线程上的调用次数，DaoCallsFilter 用它统计每个请求查了几次库；耗时也计入请求的 Server-Timing。
+ */
+@Aspect
+@Component
+public class DaoMetricsAspect {
+    static final String METRIC="dao.calls";
+
+    private static final ThreadLocal<int[]> CALLS=new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    private final ConcurrentMap<Key, Timer> timers=new ConcurrentHashMap<>();
+
+    public DaoMetricsAspect(MeterRegistry registry) {
+        this.registry=registry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        int[] calls=CALLS.get();
+        if(calls!=null) {
+            calls[0]++;
+        }
+        Timer timer=timer(pjp.getThis(),((MethodSignature) pjp.getSignature()).getMethod());
+        RequestTiming.enter(RequestTiming.DB);
+        long start=System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            timer.record(System.nanoTime()-start,TimeUnit.NANOSECONDS);
+            RequestTiming.exit(RequestTiming.DB);
+        }
+    }
+
+    /**
+     * 开始统计当前线程的 Dao 调用次数
+     */
+    public static void begin() {
+        CALLS.set(new int[1]);
+    }
+
+    /**
+     * 结束统计
+     *
+     * @return begin 之后当前线程的 Dao 调用次数
+     */
+    public static int end() {
+        int[] calls=CALLS.get();
+        CALLS.remove();
+        return calls==null?0:calls[0];
+    }
+
+    private Timer timer(Object proxy, Method method) {
+        Key key=new Key(proxy.getClass(),method);
+        Timer timer=timers.get(key);
+        if(timer==null) {
+            timer=timers.computeIfAbsent(key,k->Timer.builder(METRIC)
+                    .description("Dao 方法调用耗时")
+                    .tag("repository",repositoryName(proxy))
+                    .tag("method",method.getName())
+                    .register(registry));
+        }
+        return timer;
+    }
+
+    /**
+     * 代理实现的 Dao 接口名，如 OrderDao；继承自 JpaRepository 的方法也记在具体的 Dao 上
+     */
+    static String repositoryName(Object proxy) {
+        for(Class<?> type:AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if(type.getName().startsWith("com.demo.dao.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+
+    private static final class Key {
+        final Class<?> type;
+        final Method method;
+
+        Key(Class<?> type, Method method) {
+            this.type=type;
+            this.method=method;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key)) {
+                return false;
+            }
+            Key other=(Key) o;
+            return type==other.type && method.equals(other.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31*type.hashCode()+method.hashCode();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * 并行执行互不依赖的查询。线程数和队列都有上限，队列满时由调用线程自己执行，不会无限堆积
+     */
+    @Bean
+    public ThreadPoolTaskExecutor queryExecutor(@Value("${query-executor.pool-size:4}") int poolSize,
+                                                @Value("${query-executor.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 生成缩略图。解码大图比较占内存，线程少一些；队列满时直接拒绝，页面继续用原图，下次再生成
+     */
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${image-executor.pool-size:2}") int poolSize,
+                                                @Value("${image-executor.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        return executor;
+    }
+
+    /**
+     * 读上传请求体。慢速上传只占这里的线程，不占 Tomcat 的请求线程；队列满时拒绝，请求直接报错，不会拖垮别的请求
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadExecutor(@Value("${upload-executor.pool-size:8}") int poolSize,
+                                                 @Value("${upload-executor.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor=new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        return executor;
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.config;
+
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.jfr.ControllerEvent;
+import com.demo.jfr.RepositoryEvent;
+import com.demo.jfr.ServiceEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+
+/**
+ * 在控制器、Service、Dao 调用前后发出自定义 JFR 事件，带上接口、场馆ID/订单ID 和行数，
+ * 录制里能直接看到是哪次预约或审核操作引起的延迟或分配。
+ * 没有录制或事件被关掉时 shouldCommit 为 false，不取字段也不提交，只剩 begin/end 两次计时。
+ */
+@Aspect
+@Component
+public class JfrAspect {
+    static final String VENUE_ID="venueID";
+    static final String ORDER_ID="orderID";
+
+    @Around("within(com.demo.controller..*) && @within(org.springframework.stereotype.Controller)")
+    public Object controller(ProceedingJoinPoint pjp) throws Throwable {
+        ControllerEvent event=new ControllerEvent();
+        event.begin();
+        Throwable error=null;
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            error=e;
+            throw e;
+        } finally {
+            event.end();
+            if(event.shouldCommit()) {
+                event.endpoint=endpoint();
+                event.handler=pjp.getSignature().getDeclaringType().getSimpleName()+"."+pjp.getSignature().getName();
+                event.venueID=id(pjp,VENUE_ID);
+                event.orderID=id(pjp,ORDER_ID);
+                event.exception=error==null?null:error.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("within(com.demo.service.impl..*) && @within(org.springframework.stereotype.Service)")
+    public Object service(ProceedingJoinPoint pjp) throws Throwable {
+        ServiceEvent event=new ServiceEvent();
+        event.begin();
+        Object result=null;
+        Throwable error=null;
+        try {
+            result=pjp.proceed();
+            return result;
+        } catch (Throwable e) {
+            error=e;
+            throw e;
+        } finally {
+            event.end();
+            if(event.shouldCommit()) {
+                event.service=pjp.getSignature().getDeclaringType().getSimpleName();
+                event.method=pjp.getSignature().getName();
+                event.venueID=id(pjp,VENUE_ID);
+                event.orderID=id(pjp,ORDER_ID);
+                event.rows=rows(result,false);
+                event.exception=error==null?null:error.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint pjp) throws Throwable {
+        RepositoryEvent event=new RepositoryEvent();
+        event.begin();
+        Object result=null;
+        Throwable error=null;
+        try {
+            result=pjp.proceed();
+            return result;
+        } catch (Throwable e) {
+            error=e;
+            throw e;
+        } finally {
+            event.end();
+            if(event.shouldCommit()) {
+                event.repository=DaoMetricsAspect.repositoryName(pjp.getThis());
+                event.method=pjp.getSignature().getName();
+                event.venueID=id(pjp,VENUE_ID);
+                event.orderID=id(pjp,ORDER_ID);
+                event.rows=rows(result,((MethodSignature) pjp.getSignature()).getMethod().isAnnotationPresent(Modifying.class));
+                event.exception=error==null?null:error.getClass().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 当前请求匹配到的映射路径，如 /addOrder.do
+     */
+    private static String endpoint() {
+        RequestAttributes attributes=RequestContextHolder.getRequestAttributes();
+        if(attributes==null) {
+            return null;
+        }
+        Object pattern=attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,RequestAttributes.SCOPE_REQUEST);
+        return pattern==null?null:pattern.toString();
+    }
+
+    /**
+     * 从参数里找场馆ID或订单ID：同名的 int 参数，或者 Order、Venue 参数的对应字段；找不到时为 0
+     */
+    static int id(ProceedingJoinPoint pjp, String name) {
+        String[] names=((MethodSignature) pjp.getSignature()).getParameterNames();
+        Object[] args=pjp.getArgs();
+        for(int i=0;i<args.length;i++) {
+            Object arg=args[i];
+            if(names!=null && name.equals(names[i]) && arg instanceof Integer) {
+                return (Integer) arg;
+            }
+            if(arg instanceof Order) {
+                return ORDER_ID.equals(name)?((Order) arg).getOrderID():((Order) arg).getVenueID();
+            }
+            if(arg instanceof Venue && VENUE_ID.equals(name)) {
+                return ((Venue) arg).getVenueID();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 返回的行数：集合、分页按元素个数，更新语句按影响行数，单个实体为 1；
+     * 其他数字（id、count）、字符串、布尔和 null 不算行数，为 0
+     */
+    static int rows(Object result, boolean modifying) {
+        if(modifying && result instanceof Number) {
+            return ((Number) result).intValue();
+        }
+        if(result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if(result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if(result==null || result instanceof Number || result instanceof Boolean || result instanceof CharSequence) {
+            return 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.demo.config;
+
+import com.demo.utils.RequestTiming;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Service 层（含 OrderVoService、MessageVoService 组装 VO）的耗时计入请求的 Server-Timing，包含其中的 Dao 调用
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("within(com.demo.service.impl..*) && @within(org.springframework.stereotype.Service)")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        RequestTiming.enter(RequestTiming.SERVICE);
+        try {
+            return pjp.proceed();
+        } finally {
+            RequestTiming.exit(RequestTiming.SERVICE);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.config;
+
+import com.demo.utils.RequestTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 视图渲染和 JSON 序列化的耗时计入请求的 Server-Timing
+ */
+@Configuration
+public class TimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ViewTimingInterceptor());
+    }
+
+    /**
+     * 换成带计时的 Jackson 转换器，ObjectMapper 沿用原来的
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for(int i=0;i<converters.size();i++) {
+            HttpMessageConverter<?> converter=converters.get(i);
+            if(converter.getClass()==MappingJackson2HttpMessageConverter.class) {
+                converters.set(i,new TimedJsonConverter(((MappingJackson2HttpMessageConverter) converter).getObjectMapper()));
+            }
+        }
+    }
+
+    /**
+     * postHandle 之后到请求完成之间就是视图渲染
+     */
+    static class ViewTimingInterceptor implements HandlerInterceptor {
+        @Override
+        public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                               @Nullable ModelAndView modelAndView) {
+            if(modelAndView!=null && !modelAndView.wasCleared()) {
+                RequestTiming.enter(RequestTiming.VIEW);
+            }
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    @Nullable Exception ex) {
+            RequestTiming.exit(RequestTiming.VIEW);
+        }
+    }
+
+    static class TimedJsonConverter extends MappingJackson2HttpMessageConverter {
+        TimedJsonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            RequestTiming.enter(RequestTiming.JSON);
+            try {
+                super.writeInternal(object,type,outputMessage);
+            } finally {
+                RequestTiming.exit(RequestTiming.JSON);
+            }
+        }
+    }
+}
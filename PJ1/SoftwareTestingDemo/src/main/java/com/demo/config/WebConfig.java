@@ -0,0 +1,61 @@
+package com.demo.config;
+
+import com.demo.filter.DaoCallsFilter;
+import com.demo.filter.PageCacheFilter;
+import com.demo.filter.ServerTimingFilter;
+import com.demo.filter.SlowRequestFilter;
+import com.demo.service.impl.PageCache;
+import com.demo.service.impl.SlowRequestWatchdog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class WebConfig {
+
+    /**
+     * 只注册在公共页面上；每个页面列出它展示的数据，数据修改时按标签失效
+     */
+    @Bean
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(PageCache pageCache) {
+        Map<String, String[]> pageTags=new HashMap<>();
+        pageTags.put("/index",new String[]{PageCache.VENUE,PageCache.NEWS,PageCache.MESSAGE,PageCache.USER,PageCache.HOME});
+        pageTags.put("/venue_list",new String[]{PageCache.VENUE});
+        pageTags.put("/news_list",new String[]{PageCache.NEWS});
+
+        FilterRegistrationBean<PageCacheFilter> registration=new FilterRegistrationBean<>(new PageCacheFilter(pageCache,pageTags));
+        registration.addUrlPatterns(pageTags.keySet().toArray(new String[0]));
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<DaoCallsFilter> daoCallsFilter(MeterRegistry registry) {
+        FilterRegistrationBean<DaoCallsFilter> registration=new FilterRegistrationBean<>(new DaoCallsFilter(registry));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    /**
+     * 排在页面缓存等过滤器前面，缓存命中的请求也有 total
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(@Value("${server-timing.header:true}") boolean header) {
+        FilterRegistrationBean<ServerTimingFilter> registration=new FilterRegistrationBean<>(new ServerTimingFilter(header));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE+10);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<SlowRequestFilter> slowRequestFilter(SlowRequestWatchdog watchdog) {
+        FilterRegistrationBean<SlowRequestFilter> registration=new FilterRegistrationBean<>(new SlowRequestFilter(watchdog));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.controller;
+
+import com.demo.utils.FileSender;
+import com.demo.utils.FileUtil;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+/**
+ * 上传的场馆图片和头像，代替静态资源处理，支持协商缓存、Range 和 sendfile
+ */
+@Controller
+public class FileController {
+    private static final Pattern SAFE_PATH=Pattern.compile("[0-9A-Za-z_\\-]+(/[0-9A-Za-z_\\-]+)*\\.[0-9A-Za-z]+");
+
+    @GetMapping("/file/{namespace:venue|user}/**")
+    public void file(@PathVariable String namespace, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String prefix="/file/"+namespace+"/";
+        String path=(String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        String relative=path.startsWith(prefix)?path.substring(prefix.length()):"";
+        Path root=FileUtil.staticPath("file/"+namespace);
+        if(root==null || !SAFE_PATH.matcher(relative).matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path file=root.resolve(relative).normalize();
+        if(!file.startsWith(root) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        FileSender.send(file,request,response);
+    }
+}
@@ -0,0 +1,44 @@
+package com.demo.controller.admin;
+
+import com.demo.entity.vo.GcReport;
+import com.demo.exception.LoginException;
+import com.demo.service.UploadGcService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Controller
+public class AdminFileController {
+    @Autowired
+    private UploadGcService uploadGcService;
+
+    /**
+     * 在后台清理没人引用的上传文件，默认只试运行统计，结果从 uploadGcReport.do 取。
+     * 会删除文件、报告里有文件路径，两个接口都只给登录的管理员用
+     */
+    @PostMapping("/uploadGc.do")
+    @ResponseBody
+    public boolean uploadGc(@RequestParam(value = "dryRun",defaultValue = "true") boolean dryRun, HttpServletRequest request){
+        checkAdmin(request);
+        return uploadGcService.start(dryRun);
+    }
+
+    @GetMapping("/uploadGcReport.do")
+    @ResponseBody
+    public GcReport uploadGcReport(HttpServletRequest request){
+        checkAdmin(request);
+        return uploadGcService.lastReport();
+    }
+
+    private static void checkAdmin(HttpServletRequest request) {
+        Object admin=request.getSession().getAttribute("admin");
+        if(admin==null) {
+            throw new LoginException("请登录！");
+        }
+    }
+}
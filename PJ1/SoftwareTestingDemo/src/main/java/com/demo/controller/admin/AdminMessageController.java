@@ -1,9 +1,11 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.MessageVo;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
+import com.demo.utils.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,8 +25,7 @@ public class AdminMessageController {
 
     @GetMapping("/message_manage")
     public String message_manage(Model model){
-        Pageable message_pageable= PageRequest.of(0,10, Sort.by("time").descending());
-        model.addAttribute("total",messageService.findWaitState(message_pageable).getTotalPages());
+        model.addAttribute("total", PageUtil.totalPages(messageService.countWaitState(),10));
         return "admin/message_manage";
     }
 
@@ -37,10 +38,22 @@ public class AdminMessageController {
     @ResponseBody
     public List<MessageVo> messageList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable message_pageable= PageRequest.of(page-1,10, Sort.by("time").descending());
-        List<Message> messages=messageService.findWaitState(message_pageable).getContent();
+        List<Message> messages=messageService.findWaitStateSlice(message_pageable).getContent();
         return messageVoService.returnVo(messages);
     }
 
+    /**
+     * 游标翻页，cursor 为空时返回第一页
+     * @param cursor
+     * @return
+     */
+    @GetMapping(value = "/messageList.do",params = "cursor")
+    @ResponseBody
+    public CursorPage<MessageVo> messageList(@RequestParam("cursor")String cursor){
+        CursorPage<Message> messages=messageService.findWaitState(cursor,10);
+        return new CursorPage<>(messageVoService.returnVo(messages.getContent()),messages.getNextCursor());
+    }
+
     @PostMapping("/passMessage.do")
     @ResponseBody
     public boolean passMessage(int messageID){
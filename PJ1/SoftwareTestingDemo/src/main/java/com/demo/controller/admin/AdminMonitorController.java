@@ -0,0 +1,51 @@
+package com.demo.controller.admin;
+
+import com.demo.entity.vo.SlowRequest;
+import com.demo.exception.LoginException;
+import com.demo.service.PerformanceService;
+import com.demo.service.SlowRequestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 性能页面和慢请求列表带有接口、线程栈等内部信息，只给登录的管理员看
+ */
+@Controller
+public class AdminMonitorController {
+    @Autowired
+    private SlowRequestService slowRequestService;
+    @Autowired
+    private PerformanceService performanceService;
+
+    @GetMapping("/admin_performance")
+    public String admin_performance(Model model, HttpServletRequest request){
+        checkAdmin(request);
+        model.addAttribute("perf",performanceService.snapshot(10));
+        model.addAttribute("slow_list",slowRequestService.worst(10));
+        return "admin/performance";
+    }
+
+    /**
+     * 最近最慢的请求，带合并后的线程栈
+     */
+    @GetMapping("/slowRequests.do")
+    @ResponseBody
+    public List<SlowRequest> slowRequests(@RequestParam(value = "limit",defaultValue = "20")int limit, HttpServletRequest request){
+        checkAdmin(request);
+        return slowRequestService.worst(Math.max(1,Math.min(limit,100)));
+    }
+
+    private static void checkAdmin(HttpServletRequest request) {
+        Object admin=request.getSession().getAttribute("admin");
+        if(admin==null) {
+            throw new LoginException("请登录！");
+        }
+    }
+}
@@ -45,8 +45,7 @@ public class AdminNewsController {
     @ResponseBody
     public List<News> newsList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable news_pageable= PageRequest.of(page-1,10, Sort.by("time").descending());
-        Page<News> news=newsService.findAll(news_pageable);
-        return news.getContent();
+        return newsService.findSlice(news_pageable).getContent();
     }
 
     @PostMapping("/delNews.do")
@@ -1,10 +1,15 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
+import com.demo.service.VenueService;
+import com.demo.utils.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -15,7 +20,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class AdminOrderController {
@@ -23,18 +32,54 @@ public class AdminOrderController {
     private OrderService orderService;
     @Autowired
     private OrderVoService orderVoService;
+    @Autowired
+    private VenueService venueService;
+
+    /**
+     * 已审核订单允许排序的字段
+     */
+    private static final List<String> AUDIT_SORT_FIELDS= Arrays.asList("orderTime","startTime","total","hours","orderID");
 
     @GetMapping("/reservation_manage")
     public String reservation_manage(Model model){
-        List<Order> orders= orderService.findAuditOrder();
-        List<OrderVo> orderVos=orderVoService.returnVo(orders);
-        Pageable order_pageable= PageRequest.of(0,10, Sort.by("orderTime").descending());
-        model.addAttribute("order_list",orderVos);
-        model.addAttribute("total",orderService.findNoAuditOrder(order_pageable).getTotalPages());
+        model.addAttribute("venue_list",venueService.findAll());
+        model.addAttribute("total", PageUtil.totalPages(orderService.countNoAuditOrder(),10));
 
         return "admin/reservation_manage";
     }
 
+    /**
+     * 管理员分页查看已审核订单，可按场馆、用户和预约日期筛选
+     * @param page
+     * @param venueID
+     * @param userID
+     * @param startDate 预约日期起（含），yyyy-MM-dd
+     * @param endDate 预约日期止（含），yyyy-MM-dd
+     * @param sort 排序字段
+     * @param asc 是否升序
+     * @return
+     */
+    @GetMapping("/admin/getAuditOrderList.do")
+    @ResponseBody
+    public Page<OrderVo> getAuditOrder(@RequestParam(value = "page",defaultValue = "1")int page,
+                                       @RequestParam(value = "venueID",required = false)Integer venueID,
+                                       @RequestParam(value = "userID",required = false)String userID,
+                                       @RequestParam(value = "startDate",required = false)String startDate,
+                                       @RequestParam(value = "endDate",required = false)String endDate,
+                                       @RequestParam(value = "sort",defaultValue = "orderTime")String sort,
+                                       @RequestParam(value = "asc",defaultValue = "false")boolean asc){
+        if(!AUDIT_SORT_FIELDS.contains(sort)) {
+            sort="orderTime";
+        }
+        Sort order_sort=asc?Sort.by(sort).ascending():Sort.by(sort).descending();
+        Pageable order_pageable= PageRequest.of(page-1,10, order_sort.and(Sort.by("orderID").descending()));
+        LocalDateTime startTime=startDate==null||startDate.isEmpty()?null:LocalDate.parse(startDate).atStartOfDay();
+        LocalDateTime startTime2=endDate==null||endDate.isEmpty()?null:LocalDate.parse(endDate).plusDays(1).atStartOfDay();
+
+        Page<Order> orders=orderService.findAuditOrder(venueID,userID,startTime,startTime2,order_pageable);
+        return new PageImpl<>(orderVoService.returnVo(orders.getContent()),order_pageable,orders.getTotalElements());
+    }
+
     /**
      * 管理员查看未审核订单
      * @param page
@@ -44,8 +89,18 @@ public class AdminOrderController {
     @ResponseBody
     public List<OrderVo> getNoAuditOrder(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable order_pageable= PageRequest.of(page-1,10, Sort.by("orderTime").descending());
-        List<Order> orders=orderService.findNoAuditOrder(order_pageable).getContent();
-        return orderVoService.returnVo(orders);
+        return orderVoService.findNoAuditOrderVoSlice(order_pageable).getContent();
+    }
+
+    /**
+     * 管理员游标翻页查看未审核订单，cursor 为空时返回第一页
+     * @param cursor
+     * @return
+     */
+    @GetMapping(value = "/admin/getOrderList.do",params = "cursor")
+    @ResponseBody
+    public CursorPage<OrderVo> getNoAuditOrder(@RequestParam("cursor")String cursor){
+        return orderVoService.findNoAuditOrderVo(cursor,10);
     }
 
     @PostMapping("/passOrder.do")
@@ -61,4 +116,16 @@ public class AdminOrderController {
         orderService.rejectOrder(orderID);
         return true;
     }
+
+    /**
+     * 管理员批量通过或驳回订单
+     * @param orderIDs
+     * @param state 2通过 4驳回
+     * @return 每个订单是否处理成功
+     */
+    @PostMapping("/batchAuditOrder.do")
+    @ResponseBody
+    public Map<Integer,Boolean> batchAuditOrder(@RequestParam("orderIDs") List<Integer> orderIDs, int state) {
+        return orderService.auditOrders(orderIDs,state);
+    }
 }
@@ -42,8 +42,7 @@ public class AdminUserController {
     @ResponseBody
     public List<User> userList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable user_pageable= PageRequest.of(page-1,10, Sort.by("id").ascending());
-        Page<User> users=userService.findByUserID(user_pageable);
-        return users.getContent();
+        return userService.findUserSlice(user_pageable).getContent();
     }
 
 
@@ -1,27 +1,36 @@
 package com.demo.controller.admin;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.UploadService;
 import com.demo.service.VenueService;
-import com.demo.utils.FileUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 @Controller
 public class AdminVenueController {
     @Autowired
     private VenueService venueService;
+    @Autowired
+    private UploadService uploadService;
+    @Autowired
+    @Qualifier("uploadExecutor")
+    private AsyncTaskExecutor uploadExecutor;
+    @Value("${upload.timeout-ms:300000}")
+    private long uploadTimeout;
 
 
     @RequestMapping("/venue_manage")
@@ -47,55 +56,52 @@ public class AdminVenueController {
     @ResponseBody
     public List<Venue> getVenueList(@RequestParam(value = "page",defaultValue = "1")int page){
         Pageable pageable= PageRequest.of(page-1,10, Sort.by("venueID").ascending());
-        return venueService.findAll(pageable).getContent();
+        return venueService.findSlice(pageable).getContent();
 
     }
 
+    /**
+     * 异步请求：在上传线程池里边收边存图片，请求线程立即释放
+     */
     @PostMapping("/addVenue.do")
-    @ResponseBody
-    public void addVenue(String venueName, String address, String description,
-                         int price, MultipartFile picture, String open_time,String close_time,HttpServletRequest request,
-                         HttpServletResponse response) throws Exception {
-        Venue venue=new Venue();
-        venue.setVenueName(venueName);
-        venue.setAddress(address);
-        venue.setDescription(description);
-        venue.setPrice(price);
-        venue.setOpen_time(open_time);
-        venue.setClose_time(close_time);
-
-        if(!Objects.equals(picture.getOriginalFilename(), "")){
-            venue.setPicture(FileUtil.saveVenueFile(picture));
-        }else{
-            venue.setPicture("");
-        }
-
-        int id=venueService.create(venue);
-        if (id <= 0) {
-            request.setAttribute("message", "添加失败！");
-            response.sendRedirect("venue_add");
-        } else {
-            response.sendRedirect("venue_manage");
-        }
+    public WebAsyncTask<String> addVenue(HttpServletRequest request) {
+        return new WebAsyncTask<>(uploadTimeout,uploadExecutor,()->{
+            UploadForm form=uploadService.read(request,"venue");
+            Venue venue=new Venue();
+            venue.setVenueName(form.get("venueName"));
+            venue.setAddress(form.get("address"));
+            venue.setDescription(form.get("description"));
+            venue.setPrice(form.getInt("price"));
+            venue.setOpen_time(form.get("open_time"));
+            venue.setClose_time(form.get("close_time"));
+            venue.setPicture(form.getPicture());
+
+            int id=venueService.create(venue);
+            if (id <= 0) {
+                request.setAttribute("message", "添加失败！");
+                return "redirect:venue_add";
+            }
+            return "redirect:venue_manage";
+        });
     }
 
     @PostMapping("/modifyVenue.do")
-    @ResponseBody
-    public void modifyVenue(int venueID,String venueName, String address, String description,
-                            int price, MultipartFile picture, String open_time,String close_time,HttpServletRequest request,
-                            HttpServletResponse response) throws Exception {
-        Venue venue=venueService.findByVenueID(venueID);
-        venue.setVenueName(venueName);
-        venue.setAddress(address);
-        venue.setDescription(description);
-        venue.setPrice(price);
-        if(!Objects.equals(picture.getOriginalFilename(), "")){
-            venue.setPicture(FileUtil.saveVenueFile(picture));
-        }
-        venue.setOpen_time(open_time);
-        venue.setClose_time(close_time);
-        venueService.update(venue);
-        response.sendRedirect("venue_manage");
+    public WebAsyncTask<String> modifyVenue(HttpServletRequest request) {
+        return new WebAsyncTask<>(uploadTimeout,uploadExecutor,()->{
+            UploadForm form=uploadService.read(request,"venue");
+            Venue venue=venueService.findByVenueID(form.getInt("venueID"));
+            venue.setVenueName(form.get("venueName"));
+            venue.setAddress(form.get("address"));
+            venue.setDescription(form.get("description"));
+            venue.setPrice(form.getInt("price"));
+            if(!form.getPicture().isEmpty()){
+                venue.setPicture(form.getPicture());
+            }
+            venue.setOpen_time(form.get("open_time"));
+            venue.setClose_time(form.get("close_time"));
+            venueService.update(venue);
+            return "redirect:venue_manage";
+        });
     }
 
     @PostMapping("/delVenue.do")
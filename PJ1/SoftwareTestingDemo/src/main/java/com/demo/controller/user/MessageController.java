@@ -2,14 +2,16 @@ package com.demo.controller.user;
 
 import com.demo.entity.Message;
 import com.demo.entity.User;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.MessageVo;
 import com.demo.service.MessageService;
 import com.demo.service.MessageVoService;
 import com.demo.exception.LoginException;
+import com.demo.utils.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -30,11 +32,7 @@ public class MessageController {
 
     @GetMapping("/message_list")
     public String message_list(Model model,HttpServletRequest request)throws Exception{
-        Pageable message_pageable= PageRequest.of(0,5, Sort.by("time").descending());
-        Page<Message> messages=messageService.findPassState(message_pageable);
-        List<MessageVo> message_list=messageVoService.returnVo(messages.getContent());
-
-        model.addAttribute("total",messages.getTotalPages());
+        model.addAttribute("total", PageUtil.totalPages(messageService.countPassState(),5));
 
         Object user=request.getSession().getAttribute("user");
         if(user==null) {
@@ -42,8 +40,7 @@ public class MessageController {
         }
         User loginUser=(User)user;
 
-            Pageable user_message_pageable = PageRequest.of(0,5, Sort.by("time").descending());
-            model.addAttribute("user_total",messageService.findByUser(loginUser.getUserID(),user_message_pageable).getTotalPages());
+            model.addAttribute("user_total", PageUtil.totalPages(messageService.countByUser(loginUser.getUserID()),5));
 
 
 
@@ -56,12 +53,20 @@ public class MessageController {
     public List<MessageVo> message_list(@RequestParam(value = "page",defaultValue = "1")int page){
         System.out.println("success");
         Pageable message_pageable= PageRequest.of(page-1,5, Sort.by("time").descending());
-        Page<Message> messages=messageService.findPassState(message_pageable);
+        Slice<Message> messages=messageService.findPassStateSlice(message_pageable);
         List<MessageVo> message_list=messageVoService.returnVo(messages.getContent());
 
         return message_list;
     }
 
+    //游标翻页，cursor 为空时返回第一页
+    @GetMapping(value = "/message/getMessageList",params = "cursor")
+    @ResponseBody
+    public CursorPage<MessageVo> message_list(@RequestParam("cursor")String cursor){
+        CursorPage<Message> messages=messageService.findPassState(cursor,5);
+        return new CursorPage<>(messageVoService.returnVo(messages.getContent()),messages.getNextCursor());
+    }
+
     //User的留言不管是否通过都显示
     @GetMapping("/message/findUserList")
     @ResponseBody
@@ -75,7 +80,7 @@ public class MessageController {
         User loginUser=(User)user;
 
             Pageable message_pageable = PageRequest.of(page - 1, 5, Sort.by("time").descending());
-            List<Message> user_messages = messageService.findByUser(loginUser.getUserID(), message_pageable).getContent();
+            List<Message> user_messages = messageService.findSliceByUser(loginUser.getUserID(), message_pageable).getContent();
             return messageVoService.returnVo(user_messages);
 //        }
 //        return null;
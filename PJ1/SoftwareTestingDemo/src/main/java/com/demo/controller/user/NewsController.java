@@ -1,6 +1,8 @@
 package com.demo.controller.user;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.entity.vo.SliceVo;
 import com.demo.service.NewsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,8 +15,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.List;
-
 @Controller
 public class NewsController {
     @Autowired
@@ -29,18 +29,27 @@ public class NewsController {
 
     @GetMapping("/news/getNewsList")
     @ResponseBody
-    public Page<News> news_list(@RequestParam(value = "page",defaultValue = "1")int page){
+    public SliceVo<News> news_list(@RequestParam(value = "page",defaultValue = "1")int page){
         System.out.println("success");
         Pageable news_pageable= PageRequest.of(page-1,5, Sort.by("time").descending());
-        return newsService.findAll(news_pageable);
+        return SliceVo.of(newsService.findSlice(news_pageable));
+    }
+
+    /**
+     * 游标翻页，cursor 为空时返回第一页
+     */
+    @GetMapping(value = "/news/getNewsList",params = "cursor")
+    @ResponseBody
+    public CursorPage<News> news_list(@RequestParam("cursor")String cursor){
+        return newsService.findAll(cursor,5);
     }
 
     @GetMapping("/news_list")
     public String news_list(Model model){
         Pageable news_pageable= PageRequest.of(0,5, Sort.by("time").descending());
-        List<News> news_list= newsService.findAll(news_pageable).getContent();
-        model.addAttribute("news_list",news_list);
-        model.addAttribute("total", newsService.findAll(news_pageable).getTotalPages());
+        Page<News> news=newsService.findAll(news_pageable);
+        model.addAttribute("news_list",news.getContent());
+        model.addAttribute("total", news.getTotalPages());
         return "news_list";
     }
 }
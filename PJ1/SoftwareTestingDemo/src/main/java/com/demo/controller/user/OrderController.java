@@ -3,14 +3,16 @@ package com.demo.controller.user;
 import com.demo.entity.Order;
 import com.demo.entity.User;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
-import com.demo.entity.vo.VenueOrder;
+import com.demo.entity.vo.VenueSlot;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
 import com.demo.service.VenueService;
+import com.demo.service.VenueSlotService;
 import com.demo.exception.LoginException;
+import com.demo.utils.PageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -20,8 +22,11 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Controller
@@ -32,18 +37,18 @@ public class OrderController {
     private OrderVoService orderVoService;
     @Autowired
     private VenueService venueService;
+    @Autowired
+    private VenueSlotService venueSlotService;
 
     @GetMapping("/order_manage")
     public String order_manage(Model model,HttpServletRequest request){
-        Pageable order_pageable = PageRequest.of(0,5, Sort.by("orderTime").descending());
         Object user=request.getSession().getAttribute("user");
         if(user==null) {
             throw new LoginException("请登录！");
         }
         User loginUser=(User)user;
-        Page<Order> page=orderService.findUserOrder(loginUser.getUserID(),order_pageable);
 
-        model.addAttribute("total",page.getTotalPages());
+        model.addAttribute("total", PageUtil.totalPages(orderService.countUserOrder(loginUser.getUserID()),5));
         return "order_manage";
     }
 
@@ -69,8 +74,21 @@ public class OrderController {
             throw new LoginException("请登录！");
         }
         User loginUser=(User)user;
-        Page<Order> page1=orderService.findUserOrder(loginUser.getUserID(),order_pageable);
-        return orderVoService.returnVo(page1.getContent());
+        return orderVoService.findUserOrderVoSlice(loginUser.getUserID(),order_pageable).getContent();
+    }
+
+    /**
+     * 游标翻页，cursor 为空时返回第一页
+     */
+    @GetMapping(value = "/getOrderList.do",params = "cursor")
+    @ResponseBody
+    public CursorPage<OrderVo> order_list(@RequestParam("cursor")String cursor, HttpServletRequest request){
+        Object user=request.getSession().getAttribute("user");
+        if(user==null) {
+            throw new LoginException("请登录！");
+        }
+        User loginUser=(User)user;
+        return orderVoService.findUserOrderVo(loginUser.getUserID(),cursor,5);
     }
 
     @PostMapping("/addOrder.do")
@@ -125,22 +143,34 @@ public class OrderController {
         return true;
     }
 
+    /**
+     * 场馆某天已被占用的时段。修改订单时传 orderID 排除订单自身，只对登录用户自己的订单生效
+     */
     @GetMapping("/order/getOrderList.do")
     @ResponseBody
-    public VenueOrder getOrder(String venueName,String date){
+    public VenueSlot getOrder(String venueName,String date,@RequestParam(value = "orderID",defaultValue = "0")int orderID,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        LocalDate day;
+        try {
+            day=LocalDate.parse(date==null?"":date);
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return null;
+        }
         Venue venue=venueService.findByVenueName(venueName);
-        VenueOrder venueOrder=new VenueOrder();
-        date=date+" 00:00:00";
-        DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        LocalDateTime ldt = LocalDateTime.parse(date,df);
-        LocalDateTime ldt2=ldt.plusDays(1);
-        System.out.println(ldt);
-        System.out.println(ldt2);
-
-        venueOrder.setVenue(venue);
-        venueOrder.setOrders(orderService.findDateOrder(venue.getVenueID(),ldt,ldt2));
-        System.out.println(venueOrder);
-        return venueOrder;
+        if(venue==null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        int exclude=0;
+        Object user=request.getSession().getAttribute("user");
+        if(orderID!=0 && user!=null && orderService.belongsTo(orderID,((User)user).getUserID())) {
+            exclude=orderID;
+        }
 
+        VenueSlot venueSlot=new VenueSlot();
+        venueSlot.setVenue(venue);
+        venueSlot.setOccupied(venueSlotService.findOccupiedHours(venue.getVenueID(),day,exclude));
+        return venueSlot;
     }
 }
@@ -1,23 +1,33 @@
 package com.demo.controller.user;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.UploadService;
 import com.demo.service.UserService;
-import com.demo.utils.FileUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Objects;
 
 @Controller
 public class UserController {
     @Autowired
     private UserService userService;
+    @Autowired
+    private UploadService uploadService;
+    @Autowired
+    @Qualifier("uploadExecutor")
+    private AsyncTaskExecutor uploadExecutor;
+    @Value("${upload.timeout-ms:300000}")
+    private long uploadTimeout;
 
     @GetMapping("/signup")
     public String signUp(){
@@ -81,23 +91,30 @@ public class UserController {
 
 
 
+    /**
+     * 异步请求：在上传线程池里边收边存头像，请求线程立即释放
+     */
     @PostMapping("/updateUser.do")
-    public void updateUser(String userName, String userID, String passwordNew,String email, String phone, MultipartFile picture,HttpServletRequest request, HttpServletResponse response) throws Exception {
-        User user=userService.findByUserID(userID);
-        user.setUserName(userName);
-        if(passwordNew!=null&& !"".equals(passwordNew)){
-            user.setPassword(passwordNew);
-        }
-        user.setEmail(email);
-        user.setPhone(phone);
-        if(!Objects.equals(picture.getOriginalFilename(), "")){
-            user.setPicture(FileUtil.saveUserFile(picture));
-        }
+    public WebAsyncTask<String> updateUser(HttpServletRequest request) {
+        return new WebAsyncTask<>(uploadTimeout,uploadExecutor,()->{
+            UploadForm form=uploadService.read(request,"user");
+            User user=userService.findByUserID(form.get("userID"));
+            user.setUserName(form.get("userName"));
+            String passwordNew=form.get("passwordNew");
+            if(passwordNew!=null&& !"".equals(passwordNew)){
+                user.setPassword(passwordNew);
+            }
+            user.setEmail(form.get("email"));
+            user.setPhone(form.get("phone"));
+            if(!form.getPicture().isEmpty()){
+                user.setPicture(form.getPicture());
+            }
 
-        userService.updateUser(user);
-        request.getSession().removeAttribute("user");
-        request.getSession().setAttribute("user",user);
-        response.sendRedirect("user_info");
+            userService.updateUser(user);
+            request.getSession().removeAttribute("user");
+            request.getSession().setAttribute("user",user);
+            return "redirect:user_info";
+        });
     }
 
 
@@ -1,7 +1,9 @@
 package com.demo.controller.user;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.SliceVo;
 import com.demo.service.VenueService;
+import com.demo.utils.ImageUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,8 +16,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.List;
-
 @Controller
 public class VenueController {
     @Autowired
@@ -37,19 +37,27 @@ public class VenueController {
      */
     @ResponseBody
     @GetMapping("/venuelist/getVenueList")
-    public Page<Venue> venue_list(@RequestParam(value = "page",defaultValue = "1")int page){
+    public SliceVo<Venue> venue_list(@RequestParam(value = "page",defaultValue = "1")int page){
         System.out.println("success");
         Pageable venue_pageable= PageRequest.of(page-1,5, Sort.by("venueID").ascending());
-        return venueService.findAll(venue_pageable);
+        return SliceVo.of(venueService.findSlice(venue_pageable).map(VenueController::card));
     }
 
     @GetMapping("/venue_list")
     public String venue_list(Model model){
         Pageable venue_pageable= PageRequest.of(0,5, Sort.by("venueID").ascending());
-        List<Venue> venue_list=venueService.findAll(venue_pageable).getContent();
-        model.addAttribute("venue_list",venue_list);
-        model.addAttribute("total", venueService.findAll(venue_pageable).getTotalPages());
+        Page<Venue> venues=venueService.findAll(venue_pageable);
+        model.addAttribute("venue_list",venues.getContent());
+        model.addAttribute("total", venues.getTotalPages());
         return "venue_list";
     }
 
+    /**
+     * 列表卡片用缩略图；复制一份再改，不动查出来的实体
+     */
+    private static Venue card(Venue venue) {
+        return new Venue(venue.getVenueID(),venue.getVenueName(),venue.getDescription(),venue.getPrice(),
+                ImageUtil.variant(venue.getPicture(),ImageUtil.CARD),venue.getAddress(),venue.getOpen_time(),venue.getClose_time());
+    }
+
 }
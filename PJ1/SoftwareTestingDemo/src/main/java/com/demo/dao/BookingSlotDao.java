@@ -0,0 +1,31 @@
+package com.demo.dao;
+
+import com.demo.entity.BookingSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingSlotDao extends JpaRepository<BookingSlot,Integer>, BookingSlotDaoCustom {
+
+    List<BookingSlot> findByOrderID(int orderID);
+
+    /**
+     * 场馆在 [from, to) 内被占用的时段，走 uk_venue_slot 索引
+     */
+    List<BookingSlot> findByVenueIDAndSlotStartGreaterThanEqualAndSlotStartLessThan(int venueID, LocalDateTime from, LocalDateTime to);
+
+    @Transactional
+    @Modifying
+    @Query(value="delete from BookingSlot b where b.orderID=?1")
+    int releaseByOrderID(int orderID);
+
+    @Transactional
+    @Modifying
+    @Query(value="delete from BookingSlot b where b.orderID in ?1")
+    int releaseByOrderIDIn(Collection<Integer> orderIDs);
+}
@@ -0,0 +1,24 @@
+package com.demo.dao;
+
+import com.demo.entity.Order;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BookingSlotDaoCustom {
+    /**
+     * 用一条多行 insert 占用订单的全部时段，任一时段已被占用时整条语句失败
+     *
+     * @param order
+     */
+    void claim(Order order);
+
+    /**
+     * 为已有订单补录台账，已被占用的时段跳过。
+     * 被别的订单占用而跳过的时段没有记进台账，其中一个订单释放后另一个订单的时段可能被重复预订，需要人工处理
+     *
+     * @param orders
+     * @return 时段被别的订单占用的订单号，对应占用它时段的订单号
+     */
+    Map<Integer, List<Integer>> backfill(List<Order> orders);
+}
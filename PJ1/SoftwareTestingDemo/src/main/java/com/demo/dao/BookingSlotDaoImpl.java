@@ -0,0 +1,61 @@
+package com.demo.dao;
+
+import com.demo.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingSlotDaoImpl implements BookingSlotDaoCustom {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void claim(Order order) {
+        insert("insert into booking_slot(venueID,slot_start,orderID) values ",order);
+    }
+
+    @Override
+    public Map<Integer, List<Integer>> backfill(List<Order> orders) {
+        Map<Integer, List<Integer>> conflicts=new LinkedHashMap<>();
+        for(Order order:orders) {
+            int rows=insert("insert ignore into booking_slot(venueID,slot_start,orderID) values ",order);
+            if(rows<order.getHours()) {
+                // 重复执行时自己的时段也会跳过，只有被别的订单占用才算冲突
+                List<Integer> holders=holders(order);
+                if(!holders.isEmpty()) {
+                    conflicts.put(order.getOrderID(),holders);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * 占用了订单时段的其他订单
+     */
+    private List<Integer> holders(Order order) {
+        return jdbcTemplate.queryForList("select distinct orderID from booking_slot where venueID=? and slot_start>=? and slot_start<? and orderID<>?",
+                Integer.class,order.getVenueID(),Timestamp.valueOf(order.getStartTime()),
+                Timestamp.valueOf(order.getStartTime().plusHours(order.getHours())),order.getOrderID());
+    }
+
+    private int insert(String sql, Order order) {
+        if(order.getHours()<=0) {
+            return 0;
+        }
+        StringBuilder builder=new StringBuilder(sql);
+        List<Object> args=new ArrayList<>(order.getHours()*3);
+        for(int i=0;i<order.getHours();i++) {
+            builder.append(i==0?"(?,?,?)":",(?,?,?)");
+            args.add(order.getVenueID());
+            args.add(Timestamp.valueOf(order.getStartTime().plusHours(i)));
+            args.add(order.getOrderID());
+        }
+        return jdbcTemplate.update(builder.toString(),args.toArray());
+    }
+}
@@ -0,0 +1,24 @@
+package com.demo.dao;
+
+import com.demo.entity.Counter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.transaction.Transactional;
+
+public interface CounterDao extends JpaRepository<Counter,String> {
+
+    /**
+     * 原子地增减计数，不存在时按 delta 新建。在调用方的事务里执行，随业务数据一起提交或回滚
+     */
+    @Transactional
+    @Modifying
+    @Query(value="insert into counter(name,n) values (?1,?2) on duplicate key update n=n+?2",nativeQuery = true)
+    int add(String name, long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value="delete from Counter c where c.name like ?1")
+    int deleteByNameLike(String prefix);
+}
@@ -3,11 +3,14 @@ package com.demo.dao;
 import com.demo.entity.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface MessageDao extends JpaRepository<Message,Integer> {
     Message findByMessageID(int messageID);
@@ -16,9 +19,26 @@ public interface MessageDao extends JpaRepository<Message,Integer> {
     
     Page<Message> findAllByState(int state,Pageable pageable);
 
+    Slice<Message> findSliceByUserID(String userID,Pageable pageable);
+
+    Slice<Message> findSliceByState(int state,Pageable pageable);
+
+    @Query(value = "select m from Message m where m.state = ?1 " +
+            "and (m.time < ?2 or (m.time = ?2 and m.messageID < ?3)) order by m.time desc, m.messageID desc")
+    List<Message> findByStateBefore(int state, LocalDateTime time, int messageID, Pageable pageable);
+
+    @Query(value = "select m.state from Message m where m.messageID = ?1")
+    Integer findStateByMessageID(int messageID);
+
+    @Query(value = "select m.state, count(m) from Message m group by m.state")
+    List<Object[]> countGroupByState();
+
+    @Query(value = "select m.userID, count(m) from Message m group by m.userID")
+    List<Object[]> countGroupByUserID();
+
     @Transactional
     @Modifying
-    @Query(value="update Message o set o.state=?1 where o.messageID=?2",nativeQuery =true)
+    @Query(value="update Message o set o.state=?1 where o.messageID=?2")
     void updateState(int state, int messageID);
 
 }
@@ -1,17 +1,21 @@
 package com.demo.dao;
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.OrderVo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface OrderDao extends JpaRepository<Order,Integer> {
+public interface OrderDao extends JpaRepository<Order,Integer>, JpaSpecificationExecutor<Order> {
 
     Order findByOrderID(int orderID);
 
@@ -19,13 +23,54 @@ public interface OrderDao extends JpaRepository<Order,Integer> {
 
     List<Order> findByVenueIDAndStartTimeIsBetween(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
 
-    @Query(value = "select * from `order` o where o.state = ?1 or o.state = ?2 ", nativeQuery = true)
-    List<Order> findAudit(int state1,int state2);
+    List<Order> findByStartTimeGreaterThanEqualAndStateIn(LocalDateTime startTime, Collection<Integer> states);
 
     Page<Order> findAllByUserID(String userID, Pageable pageable);
 
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.userID = ?1",
+            countQuery = "select count(o) from Order o where o.userID = ?1")
+    Page<OrderVo> findVoByUserID(String userID, Pageable pageable);
+
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.state = ?1",
+            countQuery = "select count(o) from Order o where o.state = ?1")
+    Page<OrderVo> findVoByState(int state, Pageable pageable);
+
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.userID = ?1")
+    Slice<OrderVo> findVoSliceByUserID(String userID, Pageable pageable);
+
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.state = ?1")
+    Slice<OrderVo> findVoSliceByState(int state, Pageable pageable);
+
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.userID = ?1 " +
+            "and (o.orderTime < ?2 or (o.orderTime = ?2 and o.orderID < ?3)) order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoByUserIDBefore(String userID, LocalDateTime orderTime, int orderID, Pageable pageable);
+
+    @Query(value = "select new com.demo.entity.vo.OrderVo(o.orderID,o.userID,o.venueID,coalesce(v.venueName,''),o.state,o.orderTime,o.startTime,o.hours,o.total) " +
+            "from Order o left join Venue v on v.venueID = o.venueID where o.state = ?1 " +
+            "and (o.orderTime < ?2 or (o.orderTime = ?2 and o.orderID < ?3)) order by o.orderTime desc, o.orderID desc")
+    List<OrderVo> findVoByStateBefore(int state, LocalDateTime orderTime, int orderID, Pageable pageable);
+
+    @Query(value = "select o.state, count(o) from Order o group by o.state")
+    List<Object[]> countGroupByState();
+
+    @Query(value = "select o.userID, count(o) from Order o group by o.userID")
+    List<Object[]> countGroupByUserID();
+
     @Transactional
     @Modifying
-    @Query(value="update `order` o set o.state=?1 where o.orderID=?2",nativeQuery =true)
+    @Query(value="update Order o set o.state=?1 where o.orderID=?2")
     void updateState(int state, int orderID);
+
+    @Query(value = "select o.orderID from `order` o where o.orderID in ?1 and o.state = ?2 for update", nativeQuery = true)
+    List<Integer> lockOrderIDsByState(Collection<Integer> orderIDs, int state);
+
+    @Transactional
+    @Modifying
+    @Query(value="update Order o set o.state=?1 where o.orderID in ?2 and o.state=?3")
+    int updateStateBatch(int state, Collection<Integer> orderIDs, int fromState);
 }
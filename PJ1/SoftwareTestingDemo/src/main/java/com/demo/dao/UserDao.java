@@ -1,14 +1,29 @@
 package com.demo.dao;
 
 import com.demo.entity.User;
+import com.demo.entity.vo.PictureRef;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface UserDao extends JpaRepository<User,Integer> {
     User findByUserIDAndPassword(String userID, String password);
+    @QueryHints(@QueryHint(name="org.hibernate.cacheable",value="true"))
     User findByUserID(String userID);
+    List<User> findByUserIDIn(Collection<String> userIDs);
     Page<User> findAllByIsadmin(int isadmin, Pageable pageable);
+    Slice<User> findSliceByIsadmin(int isadmin, Pageable pageable);
     int countByUserID(String userID);
+    @QueryHints(@QueryHint(name="org.hibernate.cacheable",value="true"))
     User findById(int id);
+    @Query(value = "select new com.demo.entity.vo.PictureRef(u.id,u.picture) from User u where u.id > ?1 order by u.id")
+    List<PictureRef> findPictureRefs(int afterID, Pageable pageable);
 }
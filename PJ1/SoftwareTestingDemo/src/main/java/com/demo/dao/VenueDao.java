@@ -1,20 +1,34 @@
 package com.demo.dao;
 
 import com.demo.entity.Venue;
+import com.demo.entity.vo.PictureRef;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
 
 import java.util.List;
 
 public interface VenueDao extends JpaRepository<Venue, Integer> {
+    @QueryHints(@QueryHint(name="org.hibernate.cacheable",value="true"))
     Venue findByVenueID(int venueID);
 
+    @QueryHints(@QueryHint(name="org.hibernate.cacheable",value="true"))
     Venue findByVenueName(String venueName);
 
     @Override
     @Query(value = "select * from venue",nativeQuery = true)
     List<Venue> findAll();
 
+    @Query(value = "select v from Venue v")
+    Slice<Venue> findSlice(Pageable pageable);
+
     int countByVenueName(String venueName);
 
+    @Query(value = "select new com.demo.entity.vo.PictureRef(v.venueID,v.picture) from Venue v where v.venueID > ?1 order by v.venueID")
+    List<PictureRef> findPictureRefs(int afterID, Pageable pageable);
+
 }
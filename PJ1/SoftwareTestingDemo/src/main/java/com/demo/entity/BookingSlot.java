@@ -0,0 +1,30 @@
+package com.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 预约时段台账，一个订单按小时占用多行，(venueID, slot_start) 唯一，
+ * 用数据库唯一约束保证同一场馆同一时段只能被一个订单占用
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name="booking_slot",uniqueConstraints = @UniqueConstraint(name="uk_venue_slot",columnNames = {"venueID","slot_start"}))
+public class BookingSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    private int venueID;
+
+    @Column(name="slot_start")
+    private LocalDateTime slotStart;
+
+    private int orderID;
+}
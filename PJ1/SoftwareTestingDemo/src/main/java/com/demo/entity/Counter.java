@@ -0,0 +1,25 @@
+package com.demo.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * 分页总数用的计数，name 形如 order:state:1、message:user:u001。
+ * 和业务数据在同一事务里增减，多个节点共用一份
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name="counter")
+public class Counter {
+    @Id
+    private String name;
+
+    private long n;
+}
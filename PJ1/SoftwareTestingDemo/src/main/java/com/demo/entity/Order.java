@@ -14,7 +14,11 @@ import java.util.Date;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name="`order`")
+@Table(name="`order`",indexes = {
+        @Index(name="idx_order_state_order_time",columnList = "state,order_time"),
+        @Index(name="idx_order_venue_start_time",columnList = "venueID,start_time"),
+        @Index(name="idx_order_user_order_time",columnList = "userID,order_time")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,32 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页结果，nextCursor 为 null 表示没有下一页
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+
+    private String nextCursor;
+
+    /**
+     * rows 按 size+1 条查询，多出的一条只用来判断是否还有下一页
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        if(rows.size()<=size) {
+            return new CursorPage<>(rows,null);
+        }
+        List<T> content=new ArrayList<>(rows.subList(0,size));
+        return new CursorPage<>(content,cursorOf.apply(content.get(size-1)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.entity.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次上传文件清理的结果
+ */
+@Data
+public class GcReport {
+    /**
+     * 只统计不删除
+     */
+    private boolean dryRun;
+
+    /**
+     * 数据库里引用的图片数，含缩略图
+     */
+    private int referenced;
+
+    /**
+     * 扫描的文件数
+     */
+    private int scanned;
+
+    /**
+     * 没被引用但还在宽限期内、保留的文件数
+     */
+    private int young;
+
+    /**
+     * 没被引用且过了宽限期的文件数，dryRun 时只统计
+     */
+    private int orphans;
+
+    private long orphanBytes;
+
+    /**
+     * 实际删掉的文件数
+     */
+    private int deleted;
+
+    /**
+     * 前若干个孤儿文件的路径
+     */
+    private List<String> samples=new ArrayList<>();
+
+    private long millis;
+}
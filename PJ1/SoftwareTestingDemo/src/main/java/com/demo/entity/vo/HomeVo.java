@@ -0,0 +1,23 @@
+package com.demo.entity.vo;
+
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 首页展示的数据：前5个场馆、最新5条新闻、最新5条已通过的留言
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeVo {
+    private List<Venue> venueList;
+
+    private List<News> newsList;
+
+    private List<MessageVo> messageList;
+}
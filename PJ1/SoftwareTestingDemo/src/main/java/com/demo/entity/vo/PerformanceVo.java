@@ -0,0 +1,93 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 管理员性能页面的数据，全部来自进程内的统计
+ */
+@Data
+@NoArgsConstructor
+public class PerformanceVo {
+    /**
+     * 按 p99 从高到低的接口
+     */
+    private List<TimerStat> endpoints=new ArrayList<>();
+
+    /**
+     * 按 p99 从高到低的 Dao 方法
+     */
+    private List<TimerStat> repositories=new ArrayList<>();
+
+    private List<CacheStat> caches=new ArrayList<>();
+
+    private int poolActive;
+    private int poolIdle;
+    private int poolPending;
+    private int poolMax;
+    private double poolAcquireP99;
+
+    private long heapUsed;
+    private long heapMax;
+    private long gcCount;
+    private long gcMillis;
+    private double gcPauseMax;
+
+    /**
+     * 最近一小时每分钟一条，从早到晚
+     */
+    private List<MinuteStat> history=new ArrayList<>();
+
+    /**
+     * 最近一小时里最大的每分钟请求数，页面画柱状图用
+     */
+    private long peakRequests;
+
+    /**
+     * 耗时单位都是毫秒。count、mean 是启动以来的累计；p99、max 是 Micrometer 滚动窗口里的值，
+     * 只覆盖最近约 2 分钟（DistributionStatisticConfig 默认的 expiry）
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TimerStat {
+        private String name;
+        private long count;
+        private double mean;
+        private double p99;
+        private double max;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheStat {
+        private String name;
+        private long hits;
+        private long misses;
+
+        public double getRatio() {
+            long total=hits+misses;
+            return total==0?0:(double) hits/total;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MinuteStat {
+        /**
+         * HH:mm
+         */
+        private String minute;
+        private long requests;
+        private long heapUsed;
+        private long gcMillis;
+        private int poolActive;
+        private int poolPending;
+    }
+}
@@ -0,0 +1,17 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 只取 id 和图片路径，扫描图片引用时不加载整个实体
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PictureRef {
+    private int id;
+
+    private String picture;
+}
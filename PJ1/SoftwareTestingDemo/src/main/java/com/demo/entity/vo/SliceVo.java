@@ -0,0 +1,24 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * 不带总数的分页结果，hasNext 为 false 表示已经是最后一页
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceVo<T> {
+    private List<T> content;
+
+    private boolean hasNext;
+
+    public static <T> SliceVo<T> of(Slice<T> slice) {
+        return new SliceVo<>(slice.getContent(),slice.hasNext());
+    }
+}
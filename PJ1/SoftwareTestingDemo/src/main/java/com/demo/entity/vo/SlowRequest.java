@@ -0,0 +1,48 @@
+package com.demo.entity.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 一个超过阈值的请求和它执行期间采到的线程栈
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowRequest {
+    private String uri;
+
+    /**
+     * 登录用户的 userID，未登录为 null
+     */
+    private String user;
+
+    private LocalDateTime startTime;
+
+    private long millis;
+
+    /**
+     * 还没结束
+     */
+    private boolean running;
+
+    private int samples;
+
+    /**
+     * 相同的栈合并计数，按次数从多到少
+     */
+    private List<StackSample> stacks;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StackSample {
+        private String stack;
+
+        private int count;
+    }
+}
@@ -0,0 +1,35 @@
+package com.demo.entity.vo;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 流式解析出来的 multipart 表单：普通字段和已经保存好的图片路径
+ */
+@Data
+public class UploadForm {
+    private Map<String, String> fields=new HashMap<>();
+
+    /**
+     * 保存后的图片路径，没有上传图片时为空串
+     */
+    private String picture="";
+
+    public String get(String name) {
+        return fields.get(name);
+    }
+
+    public int getInt(String name) {
+        String value=fields.get(name);
+        if(value==null || value.trim().isEmpty()) {
+            throw new RuntimeException("缺少参数："+name);
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("参数格式不正确："+name);
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.demo.entity.vo;
 
-import com.demo.entity.Order;
 import com.demo.entity.Venue;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +10,11 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class VenueOrder {
+public class VenueSlot {
     Venue venue;
-    List<Order> orders;
+
+    /**
+     * 当天已被预约的小时，如 [9,10,11]
+     */
+    List<Integer> occupied;
 }
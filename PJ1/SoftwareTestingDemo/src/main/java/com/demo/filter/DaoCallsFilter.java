@@ -0,0 +1,53 @@
+package com.demo.filter;
+
+import com.demo.config.DaoMetricsAspect;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 每个请求调用了几次 Dao，按映射路径记为 http.server.dao.calls{uri}。
+ * 异步请求的 Dao 调用在别的线程上，统计不到，不记录。
+ */
+public class DaoCallsFilter extends OncePerRequestFilter {
+    static final String METRIC="http.server.dao.calls";
+
+    private final MeterRegistry registry;
+
+    public DaoCallsFilter(MeterRegistry registry) {
+        this.registry=registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        DaoMetricsAspect.begin();
+        try {
+            chain.doFilter(request,response);
+        } finally {
+            int calls=DaoMetricsAspect.end();
+            if(!request.isAsyncStarted()) {
+                DistributionSummary.builder(METRIC)
+                        .description("单个请求的 Dao 调用次数")
+                        .tag("uri",uri(request))
+                        .register(registry)
+                        .record(calls);
+            }
+        }
+    }
+
+    /**
+     * 和 http.server.requests 一样用映射的路径模板，没有匹配到映射的请求归到一起，避免标签无限增长
+     */
+    static String uri(HttpServletRequest request) {
+        Object pattern=request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern==null?"UNKNOWN":pattern.toString();
+    }
+}
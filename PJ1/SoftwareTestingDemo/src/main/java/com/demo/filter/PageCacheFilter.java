@@ -0,0 +1,67 @@
+package com.demo.filter;
+
+import com.demo.service.impl.PageCache;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 未登录用户访问公共页面时直接返回缓存的 HTML，没有缓存时渲染一次并放入 PageCache。
+ * 带查询参数的请求和已登录用户的请求不走缓存。
+ */
+public class PageCacheFilter extends OncePerRequestFilter {
+    public static final String HEADER="X-Page-Cache";
+
+    private final PageCache pageCache;
+
+    /**
+     * 页面路径到它依赖的数据标签
+     */
+    private final Map<String, String[]> pageTags;
+
+    public PageCacheFilter(PageCache pageCache, Map<String, String[]> pageTags) {
+        this.pageCache=pageCache;
+        this.pageTags=pageTags;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || request.getQueryString()!=null
+                || !pageTags.containsKey(request.getServletPath()) || !anonymous(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key=request.getServletPath();
+        PageCache.Page page=pageCache.get(key);
+        if(page!=null) {
+            response.setHeader(HEADER,"HIT");
+            response.setContentType(page.getContentType());
+            response.setContentLength(page.getBody().length);
+            response.getOutputStream().write(page.getBody());
+            return;
+        }
+
+        long generation=pageCache.generation();
+        ContentCachingResponseWrapper wrapper=new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(HEADER,"MISS");
+        chain.doFilter(request,wrapper);
+        if(wrapper.getStatus()==HttpServletResponse.SC_OK && anonymous(request)) {
+            pageCache.put(key,new PageCache.Page(wrapper.getContentAsByteArray(),wrapper.getContentType(),pageTags.get(key)),generation);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private static boolean anonymous(HttpServletRequest request) {
+        HttpSession session=request.getSession(false);
+        return session==null || (session.getAttribute("user")==null && session.getAttribute("admin")==null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.demo.filter;
+
+import com.demo.utils.RequestTiming;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * 为每个请求开始 RequestTiming，在响应写出第一个字节之前把已有的耗时写进 Server-Timing 头，
+ * 请求结束后把完整的耗时放进请求属性，供 Tomcat 访问日志的 %{serverTiming}r 输出。
+ * 模板整页渲染完才写出（spring.thymeleaf.servlet.produce-partial-output-while-processing=false），
+ * 所以头里的 view 是完整的渲染时间；超过 Jackson 缓冲区的大 JSON 只算到第一次写出为止。
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String HEADER="Server-Timing";
+    public static final String ATTRIBUTE="serverTiming";
+
+    private final boolean header;
+
+    public ServerTimingFilter(boolean header) {
+        this.header=header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing=RequestTiming.begin();
+        TimingResponse wrapped=new TimingResponse(response,timing,header);
+        try {
+            chain.doFilter(request,wrapped);
+        } finally {
+            wrapped.beforeCommit();
+            request.setAttribute(ATTRIBUTE,timing.header());
+            RequestTiming.clear();
+        }
+    }
+
+    /**
+     * 在第一次写出、flush、重定向或 sendError 之前加上 Server-Timing 头
+     */
+    static class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private final boolean header;
+        private boolean done;
+        private ServletOutputStream out;
+        private PrintWriter writer;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing, boolean header) {
+            super(response);
+            this.timing=timing;
+            this.header=header;
+        }
+
+        void beforeCommit() {
+            if(done) {
+                return;
+            }
+            done=true;
+            if(header && !isCommitted()) {
+                setHeader(HEADER,timing.header());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if(out==null) {
+                ServletOutputStream delegate=super.getOutputStream();
+                out=new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+
+                    @Override
+                    public void write(int b) throws IOException {
+                        beforeCommit();
+                        delegate.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        beforeCommit();
+                        delegate.write(b,off,len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        beforeCommit();
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        beforeCommit();
+                        delegate.close();
+                    }
+                };
+            }
+            return out;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if(writer==null) {
+                PrintWriter delegate=super.getWriter();
+                writer=new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        beforeCommit();
+                        delegate.write(cbuf,off,len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        beforeCommit();
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        beforeCommit();
+                        delegate.close();
+                    }
+                });
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeCommit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            beforeCommit();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            beforeCommit();
+            super.sendError(sc,msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            beforeCommit();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.demo.filter;
+
+import com.demo.entity.User;
+import com.demo.service.impl.SlowRequestWatchdog;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+
+/**
+ * 把请求登记到 SlowRequestWatchdog，处理完注销。异步请求只跟踪到请求线程释放为止
+ */
+public class SlowRequestFilter extends OncePerRequestFilter {
+    private final SlowRequestWatchdog watchdog;
+
+    public SlowRequestFilter(SlowRequestWatchdog watchdog) {
+        this.watchdog=watchdog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String uri=request.getMethod()+" "+request.getRequestURI();
+        if(request.getQueryString()!=null) {
+            uri+="?"+request.getQueryString();
+        }
+        Object token=watchdog.begin(uri,user(request));
+        try {
+            chain.doFilter(request,response);
+        } finally {
+            watchdog.end(token);
+        }
+    }
+
+    static String user(HttpServletRequest request) {
+        HttpSession session=request.getSession(false);
+        if(session==null) {
+            return null;
+        }
+        Object user=session.getAttribute("user");
+        if(user==null) {
+            user=session.getAttribute("admin");
+        }
+        return user instanceof User?((User) user).getUserID():null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.Controller")
+@Label("控制器调用")
+@Description("com.demo.controller 里的请求处理方法")
+@Category({"Demo", "Web"})
+@StackTrace(false)
+public class ControllerEvent extends Event {
+    @Label("接口")
+    public String endpoint;
+
+    @Label("处理方法")
+    public String handler;
+
+    @Label("场馆ID")
+    public int venueID;
+
+    @Label("订单ID")
+    public int orderID;
+
+    @Label("异常")
+    public String exception;
+}
@@ -0,0 +1,34 @@
+package com.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.Repository")
+@Label("Dao 调用")
+@Description("com.demo.dao 里的 Spring Data 仓库方法")
+@Category({"Demo", "Database"})
+@StackTrace(false)
+public class RepositoryEvent extends Event {
+    @Label("Dao")
+    public String repository;
+
+    @Label("方法")
+    public String method;
+
+    @Label("场馆ID")
+    public int venueID;
+
+    @Label("订单ID")
+    public int orderID;
+
+    @Label("行数")
+    @Description("查询返回的行数，或更新影响的行数")
+    public int rows;
+
+    @Label("异常")
+    public String exception;
+}
@@ -0,0 +1,33 @@
+package com.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.demo.Service")
+@Label("Service 调用")
+@Description("com.demo.service.impl 里的方法")
+@Category({"Demo", "Service"})
+@StackTrace(false)
+public class ServiceEvent extends Event {
+    @Label("Service")
+    public String service;
+
+    @Label("方法")
+    public String method;
+
+    @Label("场馆ID")
+    public int venueID;
+
+    @Label("订单ID")
+    public int orderID;
+
+    @Label("返回行数")
+    public int rows;
+
+    @Label("异常")
+    public String exception;
+}
@@ -0,0 +1,57 @@
+package com.demo.service;
+
+public interface CounterService {
+    String ORDER="order";
+    String MESSAGE="message";
+
+    /**
+     * 某类数据某个状态的条数
+     *
+     * @param type ORDER 或 MESSAGE
+     * @param state
+     * @return
+     */
+    long countByState(String type, int state);
+
+    /**
+     * 某个用户的全部条数，不区分状态
+     *
+     * @param type ORDER 或 MESSAGE
+     * @param userID
+     * @return
+     */
+    long countByUser(String type, String userID);
+
+    /**
+     * 新建一条数据，在调用方的事务里计数
+     *
+     * @param type
+     * @param userID
+     * @param state
+     */
+    void created(String type, String userID, int state);
+
+    /**
+     * 删除一条数据，在调用方的事务里计数
+     *
+     * @param type
+     * @param userID
+     * @param state
+     */
+    void deleted(String type, String userID, int state);
+
+    /**
+     * n 条数据从 fromState 变为 toState，用户计数不变
+     *
+     * @param type
+     * @param fromState
+     * @param toState
+     * @param n
+     */
+    void stateChanged(String type, int fromState, int toState, int n);
+
+    /**
+     * 按数据库重新统计，修正手工改库等造成的计数偏差
+     */
+    void reconcile();
+}
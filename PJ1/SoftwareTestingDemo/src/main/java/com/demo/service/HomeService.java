@@ -0,0 +1,12 @@
+package com.demo.service;
+
+import com.demo.entity.vo.HomeVo;
+
+public interface HomeService {
+    /**
+     * 首页数据快照，过期时返回旧快照并在后台刷新
+     *
+     * @return
+     */
+    HomeVo getHome();
+}
@@ -1,8 +1,10 @@
 package com.demo.service;
 
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface MessageService {
 
@@ -19,6 +21,14 @@ public interface MessageService {
      */
      Page<Message> findByUser(String userID,Pageable pageable);
 
+    /**
+     * 分页返回用户留言，不统计总数
+     * @param userID
+     * @param pageable
+     * @return
+     */
+    Slice<Message> findSliceByUser(String userID,Pageable pageable);
+
     /**
      * 添加留言
      *
@@ -40,8 +50,49 @@ public interface MessageService {
 
     void rejectMessage(int messageID);
 
+    /**
+     * 以下计数读计数器，不查库
+     * @param userID
+     * @return 用户的留言总数，不区分状态
+     */
+    long countByUser(String userID);
+
+    long countWaitState();
+
+    long countPassState();
+
     Page<Message> findWaitState(Pageable pageable);
 
     Page<Message> findPassState(Pageable pageable);
 
+    /**
+     * 待审核留言分页，不统计总数
+     * @param pageable
+     * @return
+     */
+    Slice<Message> findWaitStateSlice(Pageable pageable);
+
+    /**
+     * 已通过留言分页，不统计总数
+     * @param pageable
+     * @return
+     */
+    Slice<Message> findPassStateSlice(Pageable pageable);
+
+    /**
+     * 待审核留言游标分页，按时间倒序
+     * @param cursor 上一页返回的游标，第一页传空
+     * @param size
+     * @return
+     */
+    CursorPage<Message> findWaitState(String cursor, int size);
+
+    /**
+     * 已通过留言游标分页，按时间倒序
+     * @param cursor 上一页返回的游标，第一页传空
+     * @param size
+     * @return
+     */
+    CursorPage<Message> findPassState(String cursor, int size);
+
 }
@@ -1,13 +1,30 @@
 package com.demo.service;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable
         ;
+import org.springframework.data.domain.Slice;
 
 public interface NewsService {
     Page<News> findAll(Pageable pageable);
 
+    /**
+     * 分页查看新闻，不统计总数
+     * @param pageable
+     * @return
+     */
+    Slice<News> findSlice(Pageable pageable);
+
+    /**
+     * 新闻游标分页，按时间倒序
+     * @param cursor 上一页返回的游标，第一页传空
+     * @param size
+     * @return
+     */
+    CursorPage<News> findAll(String cursor, int size);
+
     News findById(int newsID);
 
     int create(News news);
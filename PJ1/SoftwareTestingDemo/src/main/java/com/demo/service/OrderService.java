@@ -6,6 +6,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface OrderService {
     int STATE_NO_AUDIT=1;
@@ -21,16 +22,47 @@ public interface OrderService {
      */
     Order findById(int OrderID);
 
+    /**
+     * 订单是否属于该用户
+     *
+     * @param orderID
+     * @param userID
+     * @return 订单不存在时为 false
+     */
+    boolean belongsTo(int orderID, String userID);
+
 
     Page<Order> findNoAuditOrder(Pageable pageable);
 
-    List<Order> findAuditOrder();
+    /**
+     * 分页查看已审核（已通过和已完成）的订单，筛选条件为空时不过滤
+     * @param venueID
+     * @param userID
+     * @param startTime 预约开始时间下限（含）
+     * @param startTime2 预约开始时间上限（不含）
+     * @param pageable
+     * @return
+     */
+    Page<Order> findAuditOrder(Integer venueID, String userID, LocalDateTime startTime, LocalDateTime startTime2, Pageable pageable);
 
 
     List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2);
 
     Page<Order> findUserOrder(String userID,Pageable pageable);
 
+    /**
+     * 用户订单总数，读计数器，不查库
+     * @param userID
+     * @return
+     */
+    long countUserOrder(String userID);
+
+    /**
+     * 未审核订单总数，读计数器，不查库
+     * @return
+     */
+    long countNoAuditOrder();
+
     void updateOrder(int orderID,String venueName, LocalDateTime startTime, int hours, String userID);
     /**
      * 新建订单
@@ -63,4 +95,12 @@ public interface OrderService {
      * @param orderID
      */
     void rejectOrder(int orderID);
+
+    /**
+     * 批量审核，只处理仍处于未审核状态的订单
+     * @param orderIDs
+     * @param state STATE_WAIT 通过，STATE_REJECT 驳回
+     * @return 每个订单是否被处理，顺序与 orderIDs 一致
+     */
+    Map<Integer,Boolean> auditOrders(List<Integer> orderIDs, int state);
 }
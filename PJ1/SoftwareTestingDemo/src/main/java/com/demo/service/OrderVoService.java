@@ -2,11 +2,68 @@ package com.demo.service;
 
 
 import com.demo.entity.Order;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface OrderVoService {
     OrderVo returnOrderVoByOrderID(int orderID);
+
+    /**
+     * 为已查出的订单补充场馆名，场馆用一次 in 查询取回
+     * @param list
+     * @return
+     */
     List<OrderVo> returnVo(List<Order> list);
+
+    /**
+     * 用户订单分页，订单和场馆名一次联表查出
+     * @param userID
+     * @param pageable
+     * @return
+     */
+    Page<OrderVo> findUserOrderVo(String userID, Pageable pageable);
+
+    /**
+     * 未审核订单分页
+     * @param pageable
+     * @return
+     */
+    Page<OrderVo> findNoAuditOrderVo(Pageable pageable);
+
+    /**
+     * 用户订单分页，不统计总数
+     * @param userID
+     * @param pageable
+     * @return
+     */
+    Slice<OrderVo> findUserOrderVoSlice(String userID, Pageable pageable);
+
+    /**
+     * 未审核订单分页，不统计总数
+     * @param pageable
+     * @return
+     */
+    Slice<OrderVo> findNoAuditOrderVoSlice(Pageable pageable);
+
+    /**
+     * 用户订单游标分页，按下单时间倒序
+     * @param userID
+     * @param cursor 上一页返回的游标，第一页传空
+     * @param size
+     * @return
+     */
+    CursorPage<OrderVo> findUserOrderVo(String userID, String cursor, int size);
+
+    /**
+     * 未审核订单游标分页，按下单时间倒序
+     * @param cursor 上一页返回的游标，第一页传空
+     * @param size
+     * @return
+     */
+    CursorPage<OrderVo> findNoAuditOrderVo(String cursor, int size);
 }
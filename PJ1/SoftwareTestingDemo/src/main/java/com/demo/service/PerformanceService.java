@@ -0,0 +1,13 @@
+package com.demo.service;
+
+import com.demo.entity.vo.PerformanceVo;
+
+public interface PerformanceService {
+    /**
+     * 当前的性能统计
+     *
+     * @param top 接口和 Dao 方法各取多少个
+     * @return
+     */
+    PerformanceVo snapshot(int top);
+}
@@ -0,0 +1,15 @@
+package com.demo.service;
+
+import com.demo.entity.vo.SlowRequest;
+
+import java.util.List;
+
+public interface SlowRequestService {
+    /**
+     * 最近的慢请求和正在执行的慢请求，按耗时从长到短
+     *
+     * @param limit
+     * @return
+     */
+    List<SlowRequest> worst(int limit);
+}
@@ -0,0 +1,10 @@
+package com.demo.service;
+
+public interface ThumbnailService {
+    /**
+     * 在后台生成缩略图，不等待生成完成
+     *
+     * @param picture FileUtil 保存后返回的路径，空串或非上传目录的图片会被忽略
+     */
+    void generate(String picture);
+}
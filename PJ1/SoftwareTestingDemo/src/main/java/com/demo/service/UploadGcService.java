@@ -0,0 +1,26 @@
+package com.demo.service;
+
+import com.demo.entity.vo.GcReport;
+
+public interface UploadGcService {
+    /**
+     * 在后台清理没有被场馆或用户引用的上传文件
+     *
+     * @param dryRun 只统计不删除
+     * @return 已经有清理在跑时返回 false
+     */
+    boolean start(boolean dryRun);
+
+    /**
+     * 同 start，在当前线程执行并等待结束
+     *
+     * @param dryRun
+     * @return 已经有清理在跑时返回 null
+     */
+    GcReport collect(boolean dryRun);
+
+    /**
+     * 最近一次清理的结果，还没跑过时为 null
+     */
+    GcReport lastReport();
+}
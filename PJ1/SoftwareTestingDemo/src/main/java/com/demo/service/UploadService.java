@@ -0,0 +1,18 @@
+package com.demo.service;
+
+import com.demo.entity.vo.UploadForm;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+public interface UploadService {
+    /**
+     * 边接收边解析 multipart 表单，图片直接写入存储，写好后在后台生成缩略图
+     *
+     * @param request
+     * @param namespace venue 或 user
+     * @return 表单字段和保存后的图片路径
+     * @throws IOException
+     */
+    UploadForm read(HttpServletRequest request, String namespace) throws IOException;
+}
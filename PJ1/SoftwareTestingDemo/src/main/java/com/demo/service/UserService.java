@@ -3,6 +3,7 @@ package com.demo.service;
 import com.demo.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface UserService {
     /**
@@ -21,6 +22,14 @@ public interface UserService {
      */
     Page<User> findByUserID(Pageable pageable);
 
+    /**
+     * 管理员分页查看用户，不统计总数
+     *
+     * @param pageable
+     * @return
+     */
+    Slice<User> findUserSlice(Pageable pageable);
+
     /**
      * 检查登录
      *
@@ -3,6 +3,7 @@ package com.demo.service;
 import com.demo.entity.Venue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -23,6 +24,13 @@ public interface VenueService {
      */
     Page<Venue> findAll(Pageable pageable);
 
+    /**
+     * 分页查看场馆，不统计总数，只用 hasNext 判断是否还有下一页
+     * @param pageable
+     * @return
+     */
+    Slice<Venue> findSlice(Pageable pageable);
+
     List<Venue> findAll();
     /**
      * 创建新的场馆
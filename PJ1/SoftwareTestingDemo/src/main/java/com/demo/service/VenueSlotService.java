@@ -0,0 +1,37 @@
+package com.demo.service;
+
+import com.demo.entity.Order;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface VenueSlotService {
+    /**
+     * 场馆按小时划分时段，每天最多24个
+     */
+    int SLOTS_PER_DAY=24;
+
+    /**
+     * 查询场馆某天已被占用的时段
+     *
+     * @param venueID
+     * @param date
+     * @param excludeOrderID 修改订单时排除自身，不排除传0
+     * @return 已占用的小时列表，升序
+     */
+    List<Integer> findOccupiedHours(int venueID, LocalDate date, int excludeOrderID);
+
+    /**
+     * 订单新建或修改后占用时段，同一订单重复调用会覆盖之前的占用
+     *
+     * @param order
+     */
+    void occupy(Order order);
+
+    /**
+     * 订单删除或被拒绝后释放时段
+     *
+     * @param orderID
+     */
+    void release(int orderID);
+}
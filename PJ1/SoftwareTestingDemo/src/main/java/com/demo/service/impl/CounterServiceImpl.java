@@ -0,0 +1,108 @@
+package com.demo.service.impl;
+
+import com.demo.dao.CounterDao;
+import com.demo.dao.MessageDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.Counter;
+import com.demo.service.CounterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 订单和留言的按状态、按用户计数，用来算分页总数，避免每次渲染都 count(*)。
+ * 计数存在 counter 表里，由 OrderServiceImpl、MessageServiceImpl 在同一事务里用
+ * insert ... on duplicate key update n=n+? 原子地增减，回滚时一起回滚，多个节点读到的是同一份。
+ * 初始值由 V4__counter 迁移脚本按已有数据统计。
+ */
+@Service
+public class CounterServiceImpl implements CounterService {
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private MessageDao messageDao;
+
+    @Autowired
+    private CounterDao counterDao;
+
+    /**
+     * 按数据库重新统计。统计期间的写入可能被覆盖，只在写入很少时手动执行
+     */
+    @Transactional
+    @Override
+    public void reconcile() {
+        counterDao.deleteByNameLike(ORDER+":%");
+        counterDao.deleteByNameLike(MESSAGE+":%");
+        List<Counter> counters=new ArrayList<>();
+        load(counters,ORDER,orderDao.countGroupByState(),orderDao.countGroupByUserID());
+        load(counters,MESSAGE,messageDao.countGroupByState(),messageDao.countGroupByUserID());
+        counterDao.saveAll(counters);
+    }
+
+    @Override
+    public long countByState(String type, int state) {
+        return get(name(type,"state",String.valueOf(state)));
+    }
+
+    @Override
+    public long countByUser(String type, String userID) {
+        return userID==null?0:get(name(type,"user",userID));
+    }
+
+    @Override
+    public void created(String type, String userID, int state) {
+        add(name(type,"state",String.valueOf(state)),1);
+        if(userID!=null) {
+            add(name(type,"user",userID),1);
+        }
+    }
+
+    @Override
+    public void deleted(String type, String userID, int state) {
+        add(name(type,"state",String.valueOf(state)),-1);
+        if(userID!=null) {
+            add(name(type,"user",userID),-1);
+        }
+    }
+
+    @Override
+    public void stateChanged(String type, int fromState, int toState, int n) {
+        if(fromState==toState || n==0) {
+            return;
+        }
+        add(name(type,"state",String.valueOf(fromState)),-n);
+        add(name(type,"state",String.valueOf(toState)),n);
+    }
+
+    private long get(String name) {
+        return counterDao.findById(name).map(c->Math.max(c.getN(),0)).orElse(0L);
+    }
+
+    private void add(String name, long delta) {
+        counterDao.add(name,delta);
+    }
+
+    static String name(String type, String scope, String key) {
+        if(!ORDER.equals(type) && !MESSAGE.equals(type)) {
+            throw new RuntimeException("未知的计数类型："+type);
+        }
+        return type+":"+scope+":"+key;
+    }
+
+    private static void load(List<Counter> counters, String type, List<Object[]> byState, List<Object[]> byUser) {
+        for(Object[] row:byState) {
+            if(row[0]!=null) {
+                counters.add(new Counter(name(type,"state",String.valueOf(row[0])),((Number) row[1]).longValue()));
+            }
+        }
+        for(Object[] row:byUser) {
+            if(row[0]!=null) {
+                counters.add(new Counter(name(type,"user",(String) row[0]),((Number) row[1]).longValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.demo.service.impl;
+
+import com.demo.entity.Message;
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.HomeVo;
+import com.demo.entity.vo.MessageVo;
+import com.demo.service.HomeService;
+import com.demo.service.MessageService;
+import com.demo.service.MessageVoService;
+import com.demo.service.NewsService;
+import com.demo.service.VenueService;
+import com.demo.utils.FutureUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 首页数据只保留一份快照。过期（超过 ttl 或场馆、新闻、留言、用户被修改过）后，
+ * 第一个发现过期的请求交给后台线程刷新，刷新期间所有请求继续拿旧快照，同一时间只有一个刷新在跑。
+ * 只有启动后第一次还没有快照时才在请求线程里查询，并发的请求等这一次查完；
+ * 这一次没有旧快照可以兜底，不设截止时间，一直等到查完。
+ * 后台刷新失败时记日志，继续用旧快照，下一个请求再试。
+ */
+@Service
+public class HomeServiceImpl implements HomeService {
+    private static final Logger log=LoggerFactory.getLogger(HomeServiceImpl.class);
+
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private NewsService newsService;
+    @Autowired
+    private MessageService messageService;
+    @Autowired
+    private MessageVoService messageVoService;
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    @Qualifier("queryExecutor")
+    Executor queryExecutor;
+
+    @Value("${home.snapshot-ttl-ms:30000}")
+    long ttl;
+
+    @Value("${query-executor.timeout-ms:2000}")
+    long timeout;
+
+    ExecutorService executor=Executors.newSingleThreadExecutor(r->{
+        Thread t=new Thread(r,"home-snapshot-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean refreshing=new AtomicBoolean();
+
+    @Override
+    public HomeVo getHome() {
+        Snapshot current=snapshot;
+        if(current==null) {
+            return loadFirst();
+        }
+        if(stale(current) && refreshing.compareAndSet(false,true)) {
+            executor.execute(()->{
+                try {
+                    swap(load(true));
+                } catch (RuntimeException e) {
+                    log.warn("刷新首页快照失败，继续使用旧快照",e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current.home;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized HomeVo loadFirst() {
+        if(snapshot==null) {
+            snapshot=load(false);
+        }
+        return snapshot.home;
+    }
+
+    private boolean stale(Snapshot s) {
+        return s.version!=pageCache.dataVersion() || System.currentTimeMillis()-s.loadedAt>ttl;
+    }
+
+    private void swap(Snapshot s) {
+        snapshot=s;
+        // 缓存的首页是用旧快照渲染的，换上新快照后清掉
+        pageCache.evict(PageCache.HOME);
+    }
+
+    /**
+     * @param bounded 是否在 timeout 内查完，超时抛出异常
+     */
+    private Snapshot load(boolean bounded) {
+        // 先取版本再查询，查询期间有修改时这份快照一出来就算过期
+        long version=pageCache.dataVersion();
+        Pageable venue_pageable=PageRequest.of(0,5,Sort.by("venueID").ascending());
+        Pageable news_pageable=PageRequest.of(0,5,Sort.by("time").descending());
+        Pageable message_pageable=PageRequest.of(0,5,Sort.by("time").descending());
+
+        // 三个查询互不依赖，同时发出，总耗时取最慢的一个而不是相加
+        long deadline=System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(timeout);
+        CompletableFuture<List<Venue>> venue_list=CompletableFuture.supplyAsync(
+                ()->venueService.findAll(venue_pageable).getContent(),queryExecutor);
+        CompletableFuture<List<News>> news_list=CompletableFuture.supplyAsync(
+                ()->newsService.findAll(news_pageable).getContent(),queryExecutor);
+        CompletableFuture<List<Message>> message_page=CompletableFuture.supplyAsync(
+                ()->messageService.findPassState(message_pageable).getContent(),queryExecutor);
+        CompletableFuture<List<MessageVo>> message_list=message_page.thenApplyAsync(messageVoService::returnVo,queryExecutor);
+
+        HomeVo home;
+        try {
+            home=bounded
+                    ?new HomeVo(FutureUtil.get(venue_list,deadline,"场馆"),
+                            FutureUtil.get(news_list,deadline,"新闻"),
+                            FutureUtil.get(message_list,deadline,"留言"))
+                    :new HomeVo(FutureUtil.get(venue_list,"场馆"),
+                            FutureUtil.get(news_list,"新闻"),
+                            FutureUtil.get(message_list,"留言"));
+        } catch (RuntimeException e) {
+            // 这份快照已经用不上了，还在排队的查询不再占用 queryExecutor
+            FutureUtil.cancelAll(venue_list,news_list,message_page,message_list);
+            throw e;
+        }
+        return new Snapshot(home,version);
+    }
+
+    private static class Snapshot {
+        final HomeVo home;
+        final long version;
+        final long loadedAt=System.currentTimeMillis();
+
+        Snapshot(HomeVo home, long version) {
+            this.home=home;
+            this.version=version;
+        }
+    }
+}
@@ -2,17 +2,30 @@ package com.demo.service.impl;
 
 import com.demo.dao.MessageDao;
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
+import com.demo.service.CounterService;
 import com.demo.service.MessageService;
+import com.demo.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import javax.transaction.Transactional;
+import java.util.List;
+
 @Service
 public class MessageServiceImpl implements MessageService {
     @Autowired
     private MessageDao messageDao;
 
+    @Autowired
+    private CounterService counterService;
+    @Autowired
+    private PageCache pageCache;
+
     @Override
     public Message findById(int messageID) {
         return messageDao.getOne(messageID);
@@ -26,36 +39,79 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    public Slice<Message> findSliceByUser(String userID, Pageable pageable) {
+        return messageDao.findSliceByUserID(userID,pageable);
+    }
+
+    @Override
+    @Transactional
     public int create(Message message) {
-        return messageDao.save(message).getMessageID();
+        int messageID=messageDao.save(message).getMessageID();
+        counterService.created(CounterService.MESSAGE,message.getUserID(),message.getState());
+        passStateChanged(message.getState()==STATE_PASS);
+        return messageID;
     }
 
     @Override
+    @Transactional
     public void delById(int messageID) {
+        Message message=messageDao.findByMessageID(messageID);
         messageDao.deleteById(messageID);
+        if(message!=null) {
+            counterService.deleted(CounterService.MESSAGE,message.getUserID(),message.getState());
+            passStateChanged(message.getState()==STATE_PASS);
+        }
     }
 
     @Override
+    @Transactional
     public void update(Message message) {
+        // 传进来的对象可能已经被改过状态，旧状态以库里为准
+        Integer oldState=messageDao.findStateByMessageID(message.getMessageID());
         messageDao.save(message);
+        if(oldState!=null) {
+            counterService.stateChanged(CounterService.MESSAGE,oldState,message.getState(),1);
+            passStateChanged(oldState==STATE_PASS || message.getState()==STATE_PASS);
+        }
     }
 
     @Override
+    @Transactional
     public void confirmMessage(int messageID) {
         Message message=messageDao.findByMessageID(messageID);
         if(message==null) {
             throw new RuntimeException("留言不存在");
         }
         messageDao.updateState(STATE_PASS,message.getMessageID());
+        counterService.stateChanged(CounterService.MESSAGE,message.getState(),STATE_PASS,1);
+        passStateChanged(true);
     }
 
     @Override
+    @Transactional
     public void rejectMessage(int messageID) {
         Message message=messageDao.findByMessageID(messageID);
         if(message==null) {
             throw new RuntimeException("留言不存在");
         }
         messageDao.updateState(STATE_REJECT,message.getMessageID());
+        counterService.stateChanged(CounterService.MESSAGE,message.getState(),STATE_REJECT,1);
+        passStateChanged(message.getState()==STATE_PASS);
+    }
+
+    @Override
+    public long countByUser(String userID) {
+        return counterService.countByUser(CounterService.MESSAGE,userID);
+    }
+
+    @Override
+    public long countWaitState() {
+        return counterService.countByState(CounterService.MESSAGE,STATE_NO_AUDIT);
+    }
+
+    @Override
+    public long countPassState() {
+        return counterService.countByState(CounterService.MESSAGE,STATE_PASS);
     }
 
     @Override
@@ -68,4 +124,39 @@ public class MessageServiceImpl implements MessageService {
         return messageDao.findAllByState(STATE_PASS,pageable);
     }
 
+    @Override
+    public Slice<Message> findWaitStateSlice(Pageable pageable) {
+        return messageDao.findSliceByState(STATE_NO_AUDIT,pageable);
+    }
+
+    @Override
+    public Slice<Message> findPassStateSlice(Pageable pageable) {
+        return messageDao.findSliceByState(STATE_PASS,pageable);
+    }
+
+    @Override
+    public CursorPage<Message> findWaitState(String cursor, int size) {
+        return findByStateBefore(STATE_NO_AUDIT,cursor,size);
+    }
+
+    @Override
+    public CursorPage<Message> findPassState(String cursor, int size) {
+        return findByStateBefore(STATE_PASS,cursor,size);
+    }
+
+    private CursorPage<Message> findByStateBefore(int state, String cursor, int size) {
+        KeysetCursor after=KeysetCursor.decode(cursor);
+        List<Message> rows=messageDao.findByStateBefore(state,after.getTime(),after.getId(),PageRequest.of(0,size+1));
+        return CursorPage.of(rows,size,message->KeysetCursor.encode(message.getTime(),message.getMessageID()));
+    }
+
+    /**
+     * 首页只展示已通过的留言，改动涉及已通过的留言时才失效页面缓存
+     */
+    private void passStateChanged(boolean pass) {
+        if(pass) {
+            pageCache.invalidate(PageCache.MESSAGE);
+        }
+    }
+
 }
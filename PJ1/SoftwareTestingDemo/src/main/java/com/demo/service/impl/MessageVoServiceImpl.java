@@ -6,11 +6,15 @@ import com.demo.entity.Message;
 import com.demo.entity.User;
 import com.demo.entity.vo.MessageVo;
 import com.demo.service.MessageVoService;
+import com.demo.utils.ImageUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class MessageVoServiceImpl implements MessageVoService {
@@ -18,21 +22,41 @@ public class MessageVoServiceImpl implements MessageVoService {
     private MessageDao messageDao;
     @Autowired
     private UserDao userDao;
+    @Autowired
+    private UserDisplayCache userDisplayCache;
 
     @Override
     public MessageVo returnMessageVoByMessageID(int messageID) {
         Message message=messageDao.findByMessageID(messageID);
         User user=userDao.findByUserID(message.getUserID());
-        MessageVo messageVo=new MessageVo(message.getMessageID(),user.getUserID(),message.getContent(),message.getTime(),user.getUserName(),user.getPicture(),message.getState());
+        MessageVo messageVo=new MessageVo(message.getMessageID(),user.getUserID(),message.getContent(),message.getTime(),user.getUserName(),ImageUtil.variant(user.getPicture(),ImageUtil.AVATAR),message.getState());
 
         return messageVo;
     }
 
     @Override
     public List<MessageVo> returnVo(List<Message> messages) {
-        List<MessageVo> list=new ArrayList<>();
-        for(int i=0;i<messages.size();i++){
-            list.add(returnMessageVoByMessageID(messages.get(i).getMessageID()));
+        List<MessageVo> list=new ArrayList<>(messages.size());
+        if(messages.isEmpty()) {
+            return list;
+        }
+        Set<String> userIDs=new HashSet<>();
+        for(Message message:messages) {
+            userIDs.add(message.getUserID());
+        }
+        Map<String, User> users=userDisplayCache.getAll(userIDs);
+        userIDs.removeAll(users.keySet());
+        if(!userIDs.isEmpty()) {
+            long generation=userDisplayCache.generation();
+            for(User user:userDao.findByUserIDIn(userIDs)) {
+                userDisplayCache.put(user,generation);
+                users.put(user.getUserID(),user);
+            }
+        }
+        for(Message message:messages) {
+            User user=users.get(message.getUserID());
+            list.add(new MessageVo(message.getMessageID(),message.getUserID(),message.getContent(),message.getTime(),
+                    user==null?null:user.getUserName(),user==null?null:ImageUtil.variant(user.getPicture(),ImageUtil.AVATAR),message.getState()));
         }
         return list;
     }
@@ -2,22 +2,42 @@ package com.demo.service.impl;
 
 import com.demo.dao.NewsDao;
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
 import com.demo.service.NewsService;
+import com.demo.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 @Service
 public class NewsServiceImpl implements NewsService {
     @Autowired
     private NewsDao newsDao;
+    @Autowired
+    private PageCache pageCache;
 
     @Override
     public Page<News> findAll(Pageable pageable) {
         return newsDao.findAll(pageable);
     }
 
+    @Override
+    public Slice<News> findSlice(Pageable pageable) {
+        return newsDao.findSlice(pageable);
+    }
+
+    @Override
+    public CursorPage<News> findAll(String cursor, int size) {
+        KeysetCursor after=KeysetCursor.decode(cursor);
+        List<News> rows=newsDao.findBefore(after.getTime(),after.getId(),PageRequest.of(0,size+1));
+        return CursorPage.of(rows,size,news->KeysetCursor.encode(news.getTime(),news.getNewsID()));
+    }
+
     @Override
     public News findById(int newsID) {
         return newsDao.getOne(newsID);
@@ -25,16 +45,20 @@ public class NewsServiceImpl implements NewsService {
 
     @Override
     public int create(News news) {
-        return newsDao.save(news).getNewsID();
+        int newsID=newsDao.save(news).getNewsID();
+        pageCache.invalidate(PageCache.NEWS);
+        return newsID;
     }
 
     @Override
     public void delById(int newsID) {
         newsDao.deleteById(newsID);
+        pageCache.invalidate(PageCache.NEWS);
     }
 
     @Override
     public void update(News news) {
         newsDao.save(news);
+        pageCache.invalidate(PageCache.NEWS);
     }
 }
@@ -1,33 +1,85 @@
 package com.demo.service.impl;
 
+import com.demo.dao.BookingSlotDao;
 import com.demo.dao.OrderDao;
 
-import com.demo.dao.VenueDao;
 import com.demo.entity.Venue;
 import com.demo.entity.Order;
+import com.demo.exception.BookingConflictException;
+import com.demo.service.CounterService;
 import com.demo.service.OrderService;
+import com.demo.service.VenueSlotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.persistence.criteria.Predicate;
+import javax.transaction.Transactional;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class OrderServiceImpl implements OrderService {
+    private static final Logger log=LoggerFactory.getLogger(OrderServiceImpl.class);
+
     @Autowired
     private OrderDao orderDao;
 
     @Autowired
-    private VenueDao venueDao;
+    private VenueCatalog venueCatalog;
+
+    @Autowired
+    private BookingSlotDao bookingSlotDao;
+
+    @Autowired
+    private VenueSlotService venueSlotService;
+
+    @Autowired
+    private CounterService counterService;
+
+    /**
+     * 为上线台账前的未来订单补录时段，insert ignore 可重复执行。
+     * 上线前已经互相重叠的订单只有一方进台账，逐个打日志交给管理员处理
+     */
+    @PostConstruct
+    public void backfillBookingSlots() {
+        List<Order> orders=orderDao.findByStartTimeGreaterThanEqualAndStateIn(LocalDate.now().atStartOfDay(),
+                Arrays.asList(STATE_NO_AUDIT,STATE_WAIT,STATE_FINISH));
+        Map<Integer, List<Integer>> conflicts=bookingSlotDao.backfill(orders);
+        for(Map.Entry<Integer, List<Integer>> entry:conflicts.entrySet()) {
+            log.warn("订单 {} 的时段已被订单 {} 占用，未补录台账，其中一方释放后可能被重复预订",entry.getKey(),entry.getValue());
+        }
+        if(!conflicts.isEmpty()) {
+            log.warn("台账补录共有 {} 个订单和其他订单时段重叠，请人工处理",conflicts.size());
+        }
+    }
 
     @Override
     public Order findById(int OrderID) {
         return orderDao.getOne(OrderID);
     }
 
+    @Override
+    public boolean belongsTo(int orderID, String userID) {
+        Order order=orderDao.findByOrderID(orderID);
+        return order!=null && Objects.equals(order.getUserID(),userID);
+    }
+
     @Override
     public List<Order> findDateOrder(int venueID, LocalDateTime startTime, LocalDateTime startTime2) {
         return orderDao.findByVenueIDAndStartTimeIsBetween(venueID,startTime,startTime2);
@@ -38,11 +90,24 @@ public class OrderServiceImpl implements OrderService {
         return orderDao.findAllByUserID(userID,pageable);
     }
 
+    @Override
+    public long countUserOrder(String userID) {
+        return counterService.countByUser(CounterService.ORDER,userID);
+    }
+
+    @Override
+    public long countNoAuditOrder() {
+        return counterService.countByState(CounterService.ORDER,STATE_NO_AUDIT);
+    }
+
 
     @Override
+    @Transactional
     public void updateOrder(int orderID, String venueName, LocalDateTime startTime, int hours,String userID)  {
-        Venue venue =venueDao.findByVenueName(venueName);
+        Venue venue =venueCatalog.findByName(venueName);
         Order order=orderDao.findByOrderID(orderID);
+        int oldState=order.getState();
+        String oldUserID=order.getUserID();
         order.setState(STATE_NO_AUDIT);
         order.setHours(hours);
         order.setVenueID(venue.getVenueID());
@@ -52,12 +117,22 @@ public class OrderServiceImpl implements OrderService {
         order.setTotal(hours* venue.getPrice());
 
         orderDao.save(order);
+        bookingSlotDao.releaseByOrderID(orderID);
+        claimSlots(order);
+        venueSlotService.occupy(order);
+        if(Objects.equals(oldUserID,userID)) {
+            counterService.stateChanged(CounterService.ORDER,oldState,STATE_NO_AUDIT,1);
+        } else {
+            counterService.deleted(CounterService.ORDER,oldUserID,oldState);
+            counterService.created(CounterService.ORDER,userID,STATE_NO_AUDIT);
+        }
     }
 
     @Override
+    @Transactional
     public void submit(String venueName, LocalDateTime startTime, int hours, String userID) {
 
-        Venue venue =venueDao.findByVenueName(venueName);
+        Venue venue =venueCatalog.findByName(venueName);
 
         Order order=new Order();
         order.setState(STATE_NO_AUDIT);
@@ -68,11 +143,29 @@ public class OrderServiceImpl implements OrderService {
         order.setUserID(userID);
         order.setTotal(hours* venue.getPrice());
         orderDao.save(order);
+        claimSlots(order);
+        venueSlotService.occupy(order);
+        counterService.created(CounterService.ORDER,userID,STATE_NO_AUDIT);
+    }
+
+    private void claimSlots(Order order) {
+        try {
+            bookingSlotDao.claim(order);
+        } catch (DuplicateKeyException e) {
+            throw new BookingConflictException("该时段已被预约",e);
+        }
     }
 
     @Override
+    @Transactional
     public void delOrder(int orderID) {
+        Order order=orderDao.findByOrderID(orderID);
         orderDao.deleteById(orderID);
+        bookingSlotDao.releaseByOrderID(orderID);
+        venueSlotService.release(orderID);
+        if(order!=null) {
+            counterService.deleted(CounterService.ORDER,order.getUserID(),order.getState());
+        }
     }
 
     @Override
@@ -82,6 +175,7 @@ public class OrderServiceImpl implements OrderService {
             throw new RuntimeException("订单不存在");
         }
         orderDao.updateState(STATE_WAIT,order.getOrderID());
+        counterService.stateChanged(CounterService.ORDER,order.getState(),STATE_WAIT,1);
     }
 
     @Override
@@ -91,15 +185,47 @@ public class OrderServiceImpl implements OrderService {
             throw new RuntimeException("订单不存在");
         }
         orderDao.updateState(STATE_FINISH,order.getOrderID());
+        counterService.stateChanged(CounterService.ORDER,order.getState(),STATE_FINISH,1);
     }
 
     @Override
+    @Transactional
     public void rejectOrder(int orderID) {
         Order order=orderDao.findByOrderID(orderID);
         if(order == null) {
             throw new RuntimeException("订单不存在");
         }
         orderDao.updateState(STATE_REJECT,order.getOrderID());
+        counterService.stateChanged(CounterService.ORDER,order.getState(),STATE_REJECT,1);
+        bookingSlotDao.releaseByOrderID(order.getOrderID());
+        venueSlotService.release(order.getOrderID());
+    }
+
+    @Override
+    @Transactional
+    public Map<Integer, Boolean> auditOrders(List<Integer> orderIDs, int state) {
+        if(state!=STATE_WAIT && state!=STATE_REJECT) {
+            throw new RuntimeException("不支持的审核状态");
+        }
+        Map<Integer,Boolean> result=new LinkedHashMap<>();
+        if(orderIDs==null || orderIDs.isEmpty()) {
+            return result;
+        }
+        Set<Integer> pending=new HashSet<>(orderDao.lockOrderIDsByState(new HashSet<>(orderIDs),STATE_NO_AUDIT));
+        if(!pending.isEmpty()) {
+            orderDao.updateStateBatch(state,pending,STATE_NO_AUDIT);
+            counterService.stateChanged(CounterService.ORDER,STATE_NO_AUDIT,state,pending.size());
+            if(state==STATE_REJECT) {
+                bookingSlotDao.releaseByOrderIDIn(pending);
+                for(int orderID:pending) {
+                    venueSlotService.release(orderID);
+                }
+            }
+        }
+        for(Integer orderID:orderIDs) {
+            result.put(orderID,pending.contains(orderID));
+        }
+        return result;
     }
 
     @Override
@@ -108,7 +234,24 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public List<Order> findAuditOrder() {
-        return orderDao.findAudit(STATE_WAIT,STATE_FINISH);
+    public Page<Order> findAuditOrder(Integer venueID, String userID, LocalDateTime startTime, LocalDateTime startTime2, Pageable pageable) {
+        Specification<Order> spec=(root, query, cb) -> {
+            List<Predicate> predicates=new ArrayList<>();
+            predicates.add(root.get("state").in(STATE_WAIT,STATE_FINISH));
+            if(venueID!=null) {
+                predicates.add(cb.equal(root.get("venueID"),venueID));
+            }
+            if(userID!=null && !userID.isEmpty()) {
+                predicates.add(cb.equal(root.get("userID"),userID));
+            }
+            if(startTime!=null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("startTime"),startTime));
+            }
+            if(startTime2!=null) {
+                predicates.add(cb.lessThan(root.<LocalDateTime>get("startTime"),startTime2));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+        return orderDao.findAll(spec,pageable);
     }
 }
@@ -2,12 +2,17 @@ package com.demo.service.impl;
 
 
 import com.demo.dao.OrderDao;
-import com.demo.dao.VenueDao;
 import com.demo.entity.Order;
-import com.demo.entity.Venue;
+import com.demo.entity.vo.CursorPage;
 import com.demo.entity.vo.OrderVo;
+import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
+import com.demo.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -18,14 +23,13 @@ public class OrderVoServiceImpl implements OrderVoService {
     @Autowired
     private OrderDao orderDao;
     @Autowired
-    private VenueDao venueDao;
+    private VenueCatalog venueCatalog;
 
 
     @Override
     public OrderVo returnOrderVoByOrderID(int orderID) {
         Order order=orderDao.findByOrderID(orderID);
-        Venue venue=venueDao.findByVenueID(order.getVenueID());
-        OrderVo orderVo=new OrderVo(order.getOrderID(),order.getUserID(),order.getVenueID(),venue.getVenueName(),
+        OrderVo orderVo=new OrderVo(order.getOrderID(),order.getUserID(),order.getVenueID(),venueCatalog.nameOf(order.getVenueID()),
                                     order.getState(),order.getOrderTime(),order.getStartTime(),order.getHours(),order.getTotal());
 
         return orderVo;
@@ -33,10 +37,48 @@ public class OrderVoServiceImpl implements OrderVoService {
 
     @Override
     public List<OrderVo> returnVo(List<Order> list) {
-        List<OrderVo> list1=new ArrayList<>();
-        for(int i=0;i<list.size();i++) {
-            list1.add(returnOrderVoByOrderID(list.get(i).getOrderID()));
+        List<OrderVo> list1=new ArrayList<>(list.size());
+        if(list.isEmpty()) {
+            return list1;
+        }
+        for(Order order:list) {
+            list1.add(new OrderVo(order.getOrderID(),order.getUserID(),order.getVenueID(),venueCatalog.nameOf(order.getVenueID()),
+                    order.getState(),order.getOrderTime(),order.getStartTime(),order.getHours(),order.getTotal()));
         }
         return list1;
     }
+
+    @Override
+    public Page<OrderVo> findUserOrderVo(String userID, Pageable pageable) {
+        return orderDao.findVoByUserID(userID,pageable);
+    }
+
+    @Override
+    public Page<OrderVo> findNoAuditOrderVo(Pageable pageable) {
+        return orderDao.findVoByState(OrderService.STATE_NO_AUDIT,pageable);
+    }
+
+    @Override
+    public Slice<OrderVo> findUserOrderVoSlice(String userID, Pageable pageable) {
+        return orderDao.findVoSliceByUserID(userID,pageable);
+    }
+
+    @Override
+    public Slice<OrderVo> findNoAuditOrderVoSlice(Pageable pageable) {
+        return orderDao.findVoSliceByState(OrderService.STATE_NO_AUDIT,pageable);
+    }
+
+    @Override
+    public CursorPage<OrderVo> findUserOrderVo(String userID, String cursor, int size) {
+        KeysetCursor after=KeysetCursor.decode(cursor);
+        List<OrderVo> rows=orderDao.findVoByUserIDBefore(userID,after.getTime(),after.getId(),PageRequest.of(0,size+1));
+        return CursorPage.of(rows,size,vo->KeysetCursor.encode(vo.getOrderTime(),vo.getOrderID()));
+    }
+
+    @Override
+    public CursorPage<OrderVo> findNoAuditOrderVo(String cursor, int size) {
+        KeysetCursor after=KeysetCursor.decode(cursor);
+        List<OrderVo> rows=orderDao.findVoByStateBefore(OrderService.STATE_NO_AUDIT,after.getTime(),after.getId(),PageRequest.of(0,size+1));
+        return CursorPage.of(rows,size,vo->KeysetCursor.encode(vo.getOrderTime(),vo.getOrderID()));
+    }
 }
@@ -0,0 +1,180 @@
+package com.demo.service.impl;
+
+import com.demo.utils.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 匿名访问的公共页面渲染结果缓存，读只是一次哈希查找。
+ * 每个页面带上它依赖的数据标签，数据修改后按标签失效；总大小超过上限时先淘汰最早放入的页面。
+ */
+@Component
+public class PageCache {
+    public static final String VENUE="venue";
+    public static final String NEWS="news";
+    public static final String MESSAGE="message";
+    public static final String USER="user";
+    public static final String HOME="home";
+
+    private final ConcurrentMap<String, Page> pages=new ConcurrentHashMap<>();
+
+    private final AtomicLong generation=new AtomicLong();
+
+    private final AtomicLong dataVersion=new AtomicLong();
+
+    private final long maxBytes;
+
+    private long bytes;
+
+    private final LongAdder hits=new LongAdder();
+
+    private final LongAdder misses=new LongAdder();
+
+    public PageCache(@Value("${page-cache.max-bytes:8388608}") long maxBytes) {
+        this.maxBytes=maxBytes;
+    }
+
+    public Page get(String key) {
+        Page page=pages.get(key);
+        (page==null?misses:hits).increment();
+        return page;
+    }
+
+    /**
+     * 渲染前取一次，放入时用来判断渲染期间有没有发生失效
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 渲染期间有数据被修改就不放入，避免把旧页面缓存下来
+     *
+     * @param key
+     * @param page
+     * @param generation 渲染前的 generation()
+     */
+    public synchronized void put(String key, Page page, long generation) {
+        if(generation!=this.generation.get() || page.body.length>maxBytes) {
+            return;
+        }
+        remove(key);
+        while(bytes+page.body.length>maxBytes) {
+            evictOldest();
+        }
+        pages.put(key,page);
+        bytes+=page.body.length;
+    }
+
+    /**
+     * 数据提交后失效依赖这些标签的页面
+     *
+     * @param tags
+     */
+    public void invalidate(String... tags) {
+        TransactionUtil.afterCommit(()->{
+            dataVersion.incrementAndGet();
+            evict(tags);
+        });
+    }
+
+    /**
+     * 每次数据修改加一，页面依赖的其他缓存用它判断自己是否过期
+     */
+    public long dataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * 只清掉页面，不算数据修改
+     *
+     * @param tags
+     */
+    public synchronized void evict(String... tags) {
+        generation.incrementAndGet();
+        Iterator<Map.Entry<String, Page>> it=pages.entrySet().iterator();
+        while(it.hasNext()) {
+            Page page=it.next().getValue();
+            for(String tag:tags) {
+                if(page.tags.contains(tag)) {
+                    it.remove();
+                    bytes-=page.body.length;
+                    break;
+                }
+            }
+        }
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public int size() {
+        return pages.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private void remove(String key) {
+        Page old=pages.remove(key);
+        if(old!=null) {
+            bytes-=old.body.length;
+        }
+    }
+
+    private void evictOldest() {
+        String oldest=null;
+        long oldestTime=Long.MAX_VALUE;
+        for(Map.Entry<String, Page> entry:pages.entrySet()) {
+            if(entry.getValue().storedAt<oldestTime) {
+                oldest=entry.getKey();
+                oldestTime=entry.getValue().storedAt;
+            }
+        }
+        remove(oldest);
+    }
+
+    public static class Page {
+        private static final AtomicLong SEQUENCE=new AtomicLong();
+
+        private final byte[] body;
+        private final String contentType;
+        private final Set<String> tags;
+        private final long storedAt=SEQUENCE.incrementAndGet();
+
+        public Page(byte[] body, String contentType, String... tags) {
+            this.body=body;
+            this.contentType=contentType;
+            this.tags=Collections.unmodifiableSet(new HashSet<>(Arrays.asList(tags)));
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.PerformanceVo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 最近一小时的每分钟统计：请求数、堆使用、GC 耗时、连接池活动和等待的连接数。
+ * 60 个槽位按分钟取模循环覆盖，数据放在启动时分配好的基本类型数组里，记录时不分配对象。
+ * 请求数和 GC 耗时记的是和上一分钟累计值的差。
+ * 用自己的采样线程，不占 @Scheduled 共用的那一个线程，其他定时任务卡住时也照常记录。
+ */
+@Component
+public class PerfHistory {
+    static final int SLOTS=60;
+
+    private static final DateTimeFormatter HH_MM=DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final Logger log=LoggerFactory.getLogger(PerfHistory.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * 槽位对应的分钟（自 1970 年起），0 表示空
+     */
+    private final long[] minutes=new long[SLOTS];
+    private final long[] requests=new long[SLOTS];
+    private final long[] heapUsed=new long[SLOTS];
+    private final long[] gcMillis=new long[SLOTS];
+    private final int[] poolActive=new int[SLOTS];
+    private final int[] poolPending=new int[SLOTS];
+
+    private long lastRequests;
+    private long lastGcMillis;
+
+    private final ScheduledExecutorService sampler=Executors.newSingleThreadScheduledExecutor(r->{
+        Thread t=new Thread(r,"perf-history-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PostConstruct
+    public void start() {
+        sampler.scheduleAtFixedRate(()->{
+            try {
+                tick();
+            } catch (RuntimeException e) {
+                // 抛出去会取消后续所有记录
+                log.warn("每分钟统计记录失败",e);
+            }
+        },60,60,TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    public void tick() {
+        record(TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis()),totalRequests(registry),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),totalGcMillis(),
+                (int) gauge(registry,"hikaricp.connections.active"),(int) gauge(registry,"hikaricp.connections.pending"));
+    }
+
+    synchronized void record(long minute, long totalRequests, long heap, long totalGcMillis, int active, int pending) {
+        int i=(int) (minute%SLOTS);
+        minutes[i]=minute;
+        requests[i]=Math.max(0,totalRequests-lastRequests);
+        heapUsed[i]=heap;
+        gcMillis[i]=Math.max(0,totalGcMillis-lastGcMillis);
+        poolActive[i]=active;
+        poolPending[i]=pending;
+        lastRequests=totalRequests;
+        lastGcMillis=totalGcMillis;
+    }
+
+    /**
+     * 截至 minute 的最近 60 分钟，没有记录的分钟跳过
+     */
+    synchronized List<PerformanceVo.MinuteStat> lastHour(long minute) {
+        List<PerformanceVo.MinuteStat> list=new ArrayList<>(SLOTS);
+        for(long m=minute-SLOTS+1;m<=minute;m++) {
+            int i=(int) (m%SLOTS);
+            if(minutes[i]==m) {
+                String label=LocalTime.from(Instant.ofEpochSecond(TimeUnit.MINUTES.toSeconds(m)).atZone(ZoneId.systemDefault())).format(HH_MM);
+                list.add(new PerformanceVo.MinuteStat(label,requests[i],heapUsed[i],gcMillis[i],poolActive[i],poolPending[i]));
+            }
+        }
+        return list;
+    }
+
+    static long totalRequests(MeterRegistry registry) {
+        long total=0;
+        for(Timer timer:registry.find("http.server.requests").timers()) {
+            total+=timer.count();
+        }
+        return total;
+    }
+
+    static long totalGcMillis() {
+        long total=0;
+        for(GarbageCollectorMXBean gc:ManagementFactory.getGarbageCollectorMXBeans()) {
+            total+=Math.max(0,gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    /**
+     * 同名 gauge 的合计，没有时为 0
+     */
+    static double gauge(MeterRegistry registry, String name) {
+        double total=0;
+        for(Gauge gauge:registry.find(name).gauges()) {
+            double value=gauge.value();
+            if(!Double.isNaN(value)) {
+                total+=value;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.PerformanceVo;
+import com.demo.service.PerformanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从 Micrometer、Hibernate 统计、页面缓存和 JVM 读出当前的性能数据，只在打开页面时计算
+ */
+@Service
+public class PerformanceServiceImpl implements PerformanceService {
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PageCache pageCache;
+    @Autowired
+    private PerfHistory perfHistory;
+
+    @Override
+    public PerformanceVo snapshot(int top) {
+        PerformanceVo vo=new PerformanceVo();
+        vo.setEndpoints(top(timers("http.server.requests","uri"),top));
+        vo.setRepositories(top(timers("dao.calls","repository","method"),top));
+        caches(vo);
+
+        vo.setPoolActive((int) PerfHistory.gauge(registry,"hikaricp.connections.active"));
+        vo.setPoolIdle((int) PerfHistory.gauge(registry,"hikaricp.connections.idle"));
+        vo.setPoolPending((int) PerfHistory.gauge(registry,"hikaricp.connections.pending"));
+        vo.setPoolMax((int) PerfHistory.gauge(registry,"hikaricp.connections.max"));
+        List<PerformanceVo.TimerStat> acquire=timers("hikaricp.connections.acquire","pool");
+        vo.setPoolAcquireP99(acquire.isEmpty()?0:acquire.get(0).getP99());
+
+        MemoryUsage heap=ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        vo.setHeapUsed(heap.getUsed());
+        vo.setHeapMax(heap.getMax());
+        vo.setGcCount(ManagementFactory.getGarbageCollectorMXBeans().stream().mapToLong(gc->Math.max(0,gc.getCollectionCount())).sum());
+        vo.setGcMillis(PerfHistory.totalGcMillis());
+        vo.setGcPauseMax(registry.find("jvm.gc.pause").timers().stream().mapToDouble(t->t.max(TimeUnit.MILLISECONDS)).max().orElse(0));
+
+        vo.setHistory(perfHistory.lastHour(TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis())));
+        vo.setPeakRequests(vo.getHistory().stream().mapToLong(PerformanceVo.MinuteStat::getRequests).max().orElse(0));
+        return vo;
+    }
+
+    /**
+     * 按标签合并同名 Timer：次数相加、均值按次数加权，p99 和最大值取各自的最大（分位数没法精确合并）
+     */
+    List<PerformanceVo.TimerStat> timers(String name, String... tags) {
+        Map<String, PerformanceVo.TimerStat> merged=new HashMap<>();
+        for(Timer timer:registry.find(name).timers()) {
+            StringBuilder key=new StringBuilder();
+            for(String tag:tags) {
+                if(key.length()>0) {
+                    key.append('.');
+                }
+                key.append(timer.getId().getTag(tag));
+            }
+            HistogramSnapshot snapshot=timer.takeSnapshot();
+            double p99=p99(snapshot);
+            PerformanceVo.TimerStat stat=merged.get(key.toString());
+            if(stat==null) {
+                merged.put(key.toString(),new PerformanceVo.TimerStat(key.toString(),snapshot.count(),
+                        snapshot.mean(TimeUnit.MILLISECONDS),p99,snapshot.max(TimeUnit.MILLISECONDS)));
+            } else {
+                long count=stat.getCount()+snapshot.count();
+                if(count>0) {
+                    stat.setMean((stat.getMean()*stat.getCount()+snapshot.mean(TimeUnit.MILLISECONDS)*snapshot.count())/count);
+                }
+                stat.setCount(count);
+                stat.setP99(Math.max(stat.getP99(),p99));
+                stat.setMax(Math.max(stat.getMax(),snapshot.max(TimeUnit.MILLISECONDS)));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * 没配 0.99 分位数时退回最大值
+     */
+    private static double p99(HistogramSnapshot snapshot) {
+        for(ValueAtPercentile value:snapshot.percentileValues()) {
+            if(value.percentile()==0.99) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return snapshot.max(TimeUnit.MILLISECONDS);
+    }
+
+    private static List<PerformanceVo.TimerStat> top(List<PerformanceVo.TimerStat> stats, int top) {
+        stats.sort(Comparator.comparingDouble(PerformanceVo.TimerStat::getP99).reversed());
+        return stats.size()>top?new ArrayList<>(stats.subList(0,top)):stats;
+    }
+
+    private void caches(PerformanceVo vo) {
+        vo.getCaches().add(new PerformanceVo.CacheStat("页面缓存",pageCache.hits(),pageCache.misses()));
+        Statistics statistics=entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if(statistics.isStatisticsEnabled()) {
+            vo.getCaches().add(new PerformanceVo.CacheStat("二级缓存（实体）",
+                    statistics.getSecondLevelCacheHitCount(),statistics.getSecondLevelCacheMissCount()));
+            vo.getCaches().add(new PerformanceVo.CacheStat("查询缓存",
+                    statistics.getQueryCacheHitCount(),statistics.getQueryCacheMissCount()));
+        }
+    }
+}
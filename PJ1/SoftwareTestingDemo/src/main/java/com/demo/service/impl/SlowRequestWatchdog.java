@@ -0,0 +1,175 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.SlowRequest;
+import com.demo.service.SlowRequestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢请求看门狗。SlowRequestFilter 在请求开始和结束时登记，自己的采样线程每隔一段时间检查一遍，
+ * 执行超过阈值的请求就采一次它所在线程的栈，相同的栈合并计数。
+ * 采过栈的请求结束后放进固定大小的环里，满了丢最早的；没超过阈值的请求只有登记和注销两次 map 操作。
+ * 采样不走 @Scheduled：那个线程和对账、场馆目录刷新等查库任务共用，数据库慢时正需要采样却会被它们卡住。
+ * 只是 Service 的内部设施，用 @Component，不进 Server-Timing 和 JFR 的 Service 统计。
+ */
+@Component
+public class SlowRequestWatchdog implements SlowRequestService {
+    private static final Logger log=LoggerFactory.getLogger(SlowRequestWatchdog.class);
+
+    @Value("${slow-request.threshold-ms:3000}")
+    long threshold;
+
+    @Value("${slow-request.ring-size:50}")
+    int ringSize;
+
+    /**
+     * 每个请求最多保留的不同栈数，超过的只计入采样次数
+     */
+    @Value("${slow-request.max-stacks:20}")
+    int maxStacks;
+
+    @Value("${slow-request.max-depth:40}")
+    int maxDepth;
+
+    @Value("${slow-request.sample-interval-ms:500}")
+    long interval;
+
+    ScheduledExecutorService sampler=Executors.newSingleThreadScheduledExecutor(r->{
+        Thread t=new Thread(r,"slow-request-sampler");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<Thread, InFlight> inFlight=new ConcurrentHashMap<>();
+
+    private final Deque<SlowRequest> ring=new ArrayDeque<>();
+
+    /**
+     * 当前线程开始处理一个请求
+     *
+     * @param uri
+     * @param user 登录用户的 userID
+     * @return 交给 end
+     */
+    public Object begin(String uri, String user) {
+        InFlight request=new InFlight(Thread.currentThread(),uri,user);
+        inFlight.put(request.thread,request);
+        return request;
+    }
+
+    public void end(Object token) {
+        InFlight request=(InFlight) token;
+        inFlight.remove(request.thread,request);
+        if(request.sampled()) {
+            SlowRequest slow=request.snapshot(false);
+            synchronized(ring) {
+                if(ring.size()>=ringSize) {
+                    ring.removeFirst();
+                }
+                ring.addLast(slow);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        sampler.scheduleWithFixedDelay(()->{
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                // 抛出去会取消后续所有采样
+                log.warn("慢请求采样失败",e);
+            }
+        },interval,interval,TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    public void sample() {
+        long now=System.nanoTime();
+        for(InFlight request:inFlight.values()) {
+            if(now-request.startNanos>=TimeUnit.MILLISECONDS.toNanos(threshold)) {
+                request.add(request.thread.getStackTrace(),maxDepth,maxStacks);
+            }
+        }
+    }
+
+    @Override
+    public List<SlowRequest> worst(int limit) {
+        List<SlowRequest> all=new ArrayList<>();
+        synchronized(ring) {
+            all.addAll(ring);
+        }
+        for(InFlight request:inFlight.values()) {
+            if(request.sampled()) {
+                all.add(request.snapshot(true));
+            }
+        }
+        all.sort(Comparator.comparingLong(SlowRequest::getMillis).reversed());
+        return all.size()>limit?new ArrayList<>(all.subList(0,limit)):all;
+    }
+
+    private static class InFlight {
+        final Thread thread;
+        final String uri;
+        final String user;
+        final long startNanos=System.nanoTime();
+        final long startMillis=System.currentTimeMillis();
+        private final Map<String, Integer> stacks=new HashMap<>();
+        private int samples;
+
+        InFlight(Thread thread, String uri, String user) {
+            this.thread=thread;
+            this.uri=uri;
+            this.user=user;
+        }
+
+        synchronized void add(StackTraceElement[] frames, int maxDepth, int maxStacks) {
+            samples++;
+            StringBuilder sb=new StringBuilder();
+            for(int i=0;i<frames.length && i<maxDepth;i++) {
+                sb.append(frames[i]).append('\n');
+            }
+            String stack=sb.toString();
+            if(stacks.containsKey(stack) || stacks.size()<maxStacks) {
+                stacks.merge(stack,1,Integer::sum);
+            }
+        }
+
+        synchronized boolean sampled() {
+            return samples>0;
+        }
+
+        synchronized SlowRequest snapshot(boolean running) {
+            List<SlowRequest.StackSample> list=new ArrayList<>(stacks.size());
+            for(Map.Entry<String, Integer> entry:stacks.entrySet()) {
+                list.add(new SlowRequest.StackSample(entry.getKey(),entry.getValue()));
+            }
+            list.sort(Comparator.comparingInt(SlowRequest.StackSample::getCount).reversed());
+            return new SlowRequest(uri,user,LocalDateTime.ofInstant(Instant.ofEpochMilli(startMillis),ZoneId.systemDefault()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-startNanos),running,samples,list);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.demo.service.impl;
+
+import com.demo.service.ThumbnailService;
+import com.demo.utils.ImageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 上传图片后在后台生成缩略图，生成完失效引用这张图的页面缓存，让页面换成缩略图。
+ * 同一张图同时只排一次；线程池满了或生成失败就放弃，页面继续用原图。
+ */
+@Service
+public class ThumbnailServiceImpl implements ThumbnailService {
+    private static final Logger log=LoggerFactory.getLogger(ThumbnailServiceImpl.class);
+
+    @Autowired
+    @Qualifier("imageExecutor")
+    Executor imageExecutor;
+
+    @Autowired
+    private PageCache pageCache;
+
+    private final Set<String> pending=ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void generate(String picture) {
+        if(picture==null || !picture.startsWith("file/") || !pending.add(picture)) {
+            return;
+        }
+        try {
+            imageExecutor.execute(()->{
+                try {
+                    if(ImageUtil.generate(picture)>0) {
+                        pageCache.invalidate(picture.startsWith("file/user/")?PageCache.USER:PageCache.VENUE);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // 在线程池里抛出没人接，这里记下来
+                    log.warn("生成缩略图失败：{}",picture,e);
+                } finally {
+                    pending.remove(picture);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            pending.remove(picture);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.demo.service.impl;
+
+import com.demo.dao.UserDao;
+import com.demo.dao.VenueDao;
+import com.demo.entity.vo.GcReport;
+import com.demo.entity.vo.PictureRef;
+import com.demo.service.UploadGcService;
+import com.demo.utils.FileUtil;
+import com.demo.utils.ImageUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 上传文件的标记-清除。换图、删场馆、删用户都会留下没人引用的文件，这里定期清掉：
+ * 先按 id 分批读出所有场馆和用户的图片路径（连同缩略图）作为标记，再遍历上传目录，
+ * 删除没被标记且修改时间早于宽限期的文件。
+ * 上传时先写文件后提交数据库，宽限期内的文件一律保留；复用已有文件时 FileUtil 会刷新修改时间。
+ * 遍历和删除按每秒文件数限速，在单独的低优先级线程里执行，不和请求抢磁盘。
+ */
+@Service
+public class UploadGcServiceImpl implements UploadGcService {
+    private static final Logger log=LoggerFactory.getLogger(UploadGcServiceImpl.class);
+
+    static final String[] NAMESPACES={"venue","user"};
+
+    private static final int SAMPLES=100;
+
+    @Autowired
+    private VenueDao venueDao;
+    @Autowired
+    private UserDao userDao;
+
+    @Value("${upload-gc.batch-size:500}")
+    int batchSize;
+
+    @Value("${upload-gc.grace-hours:24}")
+    long graceHours;
+
+    @Value("${upload-gc.files-per-second:200}")
+    int filesPerSecond;
+
+    @Value("${upload-gc.dry-run:false}")
+    boolean scheduledDryRun;
+
+    /**
+     * 命名空间对应的上传目录
+     */
+    Function<String, Path> roots=namespace->FileUtil.staticPath("file/"+namespace);
+
+    ExecutorService executor=Executors.newSingleThreadExecutor(r->{
+        Thread t=new Thread(r,"upload-gc");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private final AtomicBoolean running=new AtomicBoolean();
+
+    private volatile GcReport lastReport;
+
+    /**
+     * 每天凌晨清理一次，交给后台线程，不占用定时任务线程
+     */
+    @Scheduled(cron = "${upload-gc.cron:0 30 3 * * ?}")
+    public void scheduled() {
+        start(scheduledDryRun);
+    }
+
+    @Override
+    public boolean start(boolean dryRun) {
+        if(running.get()) {
+            return false;
+        }
+        executor.execute(()->collect(dryRun));
+        return true;
+    }
+
+    @Override
+    public GcReport lastReport() {
+        return lastReport;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public GcReport collect(boolean dryRun) {
+        if(!running.compareAndSet(false,true)) {
+            return null;
+        }
+        try {
+            long start=System.currentTimeMillis();
+            GcReport report=new GcReport();
+            report.setDryRun(dryRun);
+            Set<String> referenced=mark();
+            report.setReferenced(referenced.size());
+            sweep(referenced,start-TimeUnit.HOURS.toMillis(graceHours),dryRun,report);
+            report.setMillis(System.currentTimeMillis()-start);
+            log.info("上传文件清理{}：引用 {}，扫描 {}，宽限期内 {}，孤儿 {}（{} 字节），删除 {}，耗时 {}ms",
+                    dryRun?"（试运行）":"",report.getReferenced(),report.getScanned(),report.getYoung(),
+                    report.getOrphans(),report.getOrphanBytes(),report.getDeleted(),report.getMillis());
+            lastReport=report;
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("清理被中断",e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 按 id 分批读出全部图片路径，每批只取 id 和 picture 两列
+     */
+    Set<String> mark() {
+        Set<String> referenced=new HashSet<>();
+        markAll(venueDao::findPictureRefs,referenced);
+        markAll(userDao::findPictureRefs,referenced);
+        return referenced;
+    }
+
+    private void markAll(BiFunction<Integer, PageRequest, List<PictureRef>> batch, Set<String> referenced) {
+        int afterID=0;
+        List<PictureRef> refs;
+        do {
+            refs=batch.apply(afterID,PageRequest.of(0,batchSize));
+            for(PictureRef ref:refs) {
+                String picture=normalize(ref.getPicture());
+                if(picture!=null) {
+                    referenced.add(picture);
+                    referenced.addAll(ImageUtil.variantsOf(picture));
+                }
+                afterID=ref.getId();
+            }
+        } while(refs.size()==batchSize);
+    }
+
+    private void sweep(Set<String> referenced, long cutoff, boolean dryRun, GcReport report) throws InterruptedException {
+        Throttle throttle=new Throttle(filesPerSecond);
+        for(String namespace:NAMESPACES) {
+            Path root=roots.apply(namespace);
+            if(root==null || !Files.isDirectory(root)) {
+                continue;
+            }
+            try {
+                Files.walkFileTree(root,new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        try {
+                            throttle.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return FileVisitResult.TERMINATE;
+                        }
+                        report.setScanned(report.getScanned()+1);
+                        String path="file/"+namespace+"/"+root.relativize(file).toString().replace('\\','/');
+                        if(referenced.contains(path)) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        if(attrs.lastModifiedTime().toMillis()>=cutoff) {
+                            report.setYoung(report.getYoung()+1);
+                            return FileVisitResult.CONTINUE;
+                        }
+                        report.setOrphans(report.getOrphans()+1);
+                        report.setOrphanBytes(report.getOrphanBytes()+attrs.size());
+                        if(report.getSamples().size()<SAMPLES) {
+                            report.getSamples().add(path);
+                        }
+                        if(!dryRun && delete(file,cutoff)) {
+                            report.setDeleted(report.getDeleted()+1);
+                            ImageUtil.forget(path);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        // 遍历期间被删掉或没有权限，跳过
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if(Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    /**
+     * 删除前再看一次修改时间，遍历期间刚被复用的文件不删。
+     * 持有和上传相同的路径锁，看完修改时间到删除之间不会被上传替换成新文件
+     */
+    private static boolean delete(Path file, long cutoff) throws IOException {
+        synchronized(FileUtil.lockFor(file)) {
+            try {
+                if(Files.getLastModifiedTime(file).toMillis()>=cutoff) {
+                    return false;
+                }
+                return Files.deleteIfExists(file);
+            } catch (NoSuchFileException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 数据库里的路径统一成 file/xxx 的形式，不是上传目录的路径不参与
+     */
+    static String normalize(String picture) {
+        if(picture==null) {
+            return null;
+        }
+        String p=picture.trim();
+        while(p.startsWith("/")) {
+            p=p.substring(1);
+        }
+        return p.startsWith("file/")?p:null;
+    }
+
+    /**
+     * 每秒最多放行 permits 次，超过就睡到下一秒
+     */
+    static class Throttle {
+        private final int permits;
+        private long windowStart=System.nanoTime();
+        private int used;
+
+        Throttle(int permits) {
+            this.permits=Math.max(1,permits);
+        }
+
+        void acquire() throws InterruptedException {
+            if(++used<=permits) {
+                return;
+            }
+            long elapsed=System.nanoTime()-windowStart;
+            long second=TimeUnit.SECONDS.toNanos(1);
+            if(elapsed<second) {
+                TimeUnit.NANOSECONDS.sleep(second-elapsed);
+            }
+            windowStart=System.nanoTime();
+            used=1;
+        }
+    }
+}
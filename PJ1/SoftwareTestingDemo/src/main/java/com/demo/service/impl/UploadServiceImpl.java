@@ -0,0 +1,132 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.ThumbnailService;
+import com.demo.service.UploadService;
+import com.demo.utils.FileUtil;
+import org.apache.commons.fileupload.FileItemIterator;
+import org.apache.commons.fileupload.FileItemStream;
+import org.apache.commons.fileupload.FileUploadBase;
+import org.apache.commons.fileupload.FileUploadException;
+import org.apache.commons.fileupload.servlet.ServletFileUpload;
+import org.apache.commons.fileupload.util.Streams;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 不经过 MultipartResolver，按到达顺序逐段读取请求体：普通字段读成字符串，图片边读边写入存储，
+ * 不在内存或临时目录里整份缓存。类型在读第一个字节之前检查，大小超限时立即中断读取。
+ */
+@Service
+public class UploadServiceImpl implements UploadService {
+    static final String PICTURE="picture";
+
+    private static final Set<String> IMAGE_SUFFIXES=new HashSet<>(Arrays.asList(".jpg",".jpeg",".png",".gif",".bmp",".webp"));
+
+    @Value("${upload.max-file-size:10485760}")
+    long maxFileSize;
+
+    @Value("${upload.max-request-size:104857600}")
+    long maxRequestSize;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Override
+    public UploadForm read(HttpServletRequest request, String namespace) throws IOException {
+        MultipartHttpServletRequest resolved=WebUtils.getNativeRequest(request,MultipartHttpServletRequest.class);
+        UploadForm form=resolved!=null?readResolved(resolved,namespace):readStream(request,namespace);
+        thumbnailService.generate(form.getPicture());
+        return form;
+    }
+
+    private UploadForm readStream(HttpServletRequest request, String namespace) throws IOException {
+        if(!ServletFileUpload.isMultipartContent(request)) {
+            throw new RuntimeException("请求不是文件上传表单");
+        }
+        if(request.getContentLengthLong()>maxRequestSize) {
+            throw new RuntimeException("上传内容过大");
+        }
+        ServletFileUpload upload=new ServletFileUpload();
+        upload.setFileSizeMax(maxFileSize);
+        upload.setSizeMax(maxRequestSize);
+        upload.setHeaderEncoding("UTF-8");
+        UploadForm form=new UploadForm();
+        try {
+            FileItemIterator items=upload.getItemIterator(request);
+            while(items.hasNext()) {
+                FileItemStream item=items.next();
+                try (InputStream in=item.openStream()) {
+                    if(item.isFormField()) {
+                        form.getFields().put(item.getFieldName(),Streams.asString(in,"UTF-8"));
+                    } else if(PICTURE.equals(item.getFieldName()) && !isBlank(item.getName())) {
+                        checkImage(item.getName(),item.getContentType());
+                        form.setPicture(save(namespace,in,item.getName()));
+                    }
+                    // 其他文件段不读，关闭时跳过
+                }
+            }
+        } catch (FileUploadBase.FileUploadIOException e) {
+            throw new RuntimeException("上传内容过大",e);
+        } catch (FileUploadBase.SizeLimitExceededException | FileUploadBase.FileSizeLimitExceededException e) {
+            throw new RuntimeException("上传内容过大",e);
+        } catch (FileUploadException e) {
+            throw new RuntimeException("上传表单格式不正确",e);
+        }
+        return form;
+    }
+
+    /**
+     * MultipartResolver 已经解析过的请求（重新打开 spring.servlet.multipart 或 MockMvc）
+     */
+    private UploadForm readResolved(MultipartHttpServletRequest request, String namespace) throws IOException {
+        UploadForm form=new UploadForm();
+        for(Map.Entry<String, String[]> entry:request.getParameterMap().entrySet()) {
+            if(entry.getValue().length>0) {
+                form.getFields().put(entry.getKey(),entry.getValue()[0]);
+            }
+        }
+        MultipartFile picture=request.getFile(PICTURE);
+        if(picture!=null && !isBlank(picture.getOriginalFilename())) {
+            checkImage(picture.getOriginalFilename(),picture.getContentType());
+            if(picture.getSize()>maxFileSize) {
+                throw new RuntimeException("上传内容过大");
+            }
+            try (InputStream in=picture.getInputStream()) {
+                form.setPicture(save(namespace,in,picture.getOriginalFilename()));
+            }
+        }
+        return form;
+    }
+
+    private String save(String namespace, InputStream in, String filename) throws IOException {
+        return "user".equals(namespace)?FileUtil.saveUserFile(in,filename):FileUtil.saveVenueFile(in,filename);
+    }
+
+    /**
+     * 按后缀和声明的类型检查，只在读内容之前拦掉明显不是图片的上传
+     */
+    static void checkImage(String filename, String contentType) {
+        String suffix=filename.lastIndexOf('.')<0?"":filename.substring(filename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+        if(!IMAGE_SUFFIXES.contains(suffix) || (contentType!=null && !contentType.toLowerCase(Locale.ROOT).startsWith("image/"))) {
+            throw new RuntimeException("只能上传图片");
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s==null || s.trim().isEmpty();
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.service.impl;
+
+import com.demo.entity.User;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 留言板展示用的用户信息缓存（userID、用户名、头像），按最近使用淘汰。
+ * 用户修改或删除时由 UserServiceImpl 失效；和 PageCache 一样用 generation 防止查库期间的失效被旧数据覆盖。
+ */
+@Component
+public class UserDisplayCache {
+    static final int MAX_SIZE=1024;
+
+    private final LinkedHashMap<String, User> cache=new LinkedHashMap<String, User>(64,0.75f,true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, User> eldest) {
+            return size()>MAX_SIZE;
+        }
+    };
+
+    private final AtomicLong generation=new AtomicLong();
+
+    public synchronized User get(String userID) {
+        return cache.get(userID);
+    }
+
+    public synchronized Map<String, User> getAll(Iterable<String> userIDs) {
+        Map<String, User> found=new HashMap<>();
+        for(String userID:userIDs) {
+            User user=cache.get(userID);
+            if(user!=null) {
+                found.put(userID,user);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * 查库前取一次，放入时用来判断查库期间有没有发生失效
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * 只保留展示需要的字段，不缓存密码等信息。查库期间有用户被修改或删除就不放入
+     *
+     * @param user
+     * @param generation 查库前的 generation()
+     */
+    public synchronized void put(User user, long generation) {
+        if(generation!=this.generation.get()) {
+            return;
+        }
+        User display=new User();
+        display.setId(user.getId());
+        display.setUserID(user.getUserID());
+        display.setUserName(user.getUserName());
+        display.setPicture(user.getPicture());
+        cache.put(user.getUserID(),display);
+    }
+
+    /**
+     * 按主键失效，修改 userID 后旧的键也会被清掉
+     */
+    public synchronized void invalidate(int id) {
+        generation.incrementAndGet();
+        Iterator<User> iterator=cache.values().iterator();
+        while (iterator.hasNext()) {
+            if(iterator.next().getId()==id) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+}
@@ -6,12 +6,17 @@ import com.demo.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 @Service
 public class UserServiceImpl implements UserService {
     @Autowired
     private UserDao userDao;
+    @Autowired
+    private UserDisplayCache userDisplayCache;
+    @Autowired
+    private PageCache pageCache;
 
     @Override
     public User findByUserID(String userID) {
@@ -28,6 +33,11 @@ public class UserServiceImpl implements UserService {
         return userDao.findAllByIsadmin(0,pageable);
     }
 
+    @Override
+    public Slice<User> findUserSlice(Pageable pageable) {
+        return userDao.findSliceByIsadmin(0,pageable);
+    }
+
     @Override
     public User checkLogin(String userID, String password) {
         return userDao.findByUserIDAndPassword(userID,password);
@@ -42,12 +52,16 @@ public class UserServiceImpl implements UserService {
     @Override
     public void delByID(int id) {
         userDao.deleteById(id);
+        userDisplayCache.invalidate(id);
+        pageCache.invalidate(PageCache.USER);
     }
 
 
     @Override
     public void updateUser(User user) {
         userDao.save(user);
+        userDisplayCache.invalidate(user.getId());
+        pageCache.invalidate(PageCache.USER);
     }
 
     @Override
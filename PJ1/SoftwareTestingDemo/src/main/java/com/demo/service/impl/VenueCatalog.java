@@ -0,0 +1,103 @@
+package com.demo.service.impl;
+
+import com.demo.dao.VenueDao;
+import com.demo.entity.Venue;
+import com.demo.utils.TransactionUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 全部场馆的只读快照，按 id 和名称建索引。场馆很少、很少改，预约流程里查场馆只读内存不查库。
+ * VenueServiceImpl 增删改提交后整份重建再替换引用，读的一方不加锁；另外每10分钟按数据库重建一次，
+ * 兜住绕过 VenueService 直接改库的情况。
+ * 取出的场馆都是副本，调用方改了也不影响快照。
+ */
+@Component
+public class VenueCatalog {
+    @Autowired
+    private VenueDao venueDao;
+
+    private volatile Catalog catalog=new Catalog(Collections.<Venue>emptyList());
+
+    @PostConstruct
+    @Scheduled(fixedDelay = 10*60*1000, initialDelay = 10*60*1000)
+    public synchronized void reload() {
+        catalog=new Catalog(venueDao.findAll());
+    }
+
+    /**
+     * 场馆修改提交后重建
+     */
+    public void changed() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    public Venue findByID(int venueID) {
+        return copy(catalog.byID.get(venueID));
+    }
+
+    public Venue findByName(String venueName) {
+        return copy(catalog.byName.get(venueName));
+    }
+
+    /**
+     * 只要名称时不用复制
+     */
+    public String nameOf(int venueID) {
+        Venue venue=catalog.byID.get(venueID);
+        return venue==null?null:venue.getVenueName();
+    }
+
+    /**
+     * 按 venueID 排序的全部场馆
+     */
+    public List<Venue> findAll() {
+        List<Venue> all=catalog.all;
+        List<Venue> copies=new ArrayList<>(all.size());
+        for(Venue venue:all) {
+            copies.add(copy(venue));
+        }
+        return copies;
+    }
+
+    private static Venue copy(Venue venue) {
+        if(venue==null) {
+            return null;
+        }
+        return new Venue(venue.getVenueID(),venue.getVenueName(),venue.getDescription(),venue.getPrice(),
+                venue.getPicture(),venue.getAddress(),venue.getOpen_time(),venue.getClose_time());
+    }
+
+    private static class Catalog {
+        final List<Venue> all;
+        final Map<Integer, Venue> byID;
+        final Map<String, Venue> byName;
+
+        Catalog(List<Venue> venues) {
+            List<Venue> all=new ArrayList<>(venues.size());
+            Map<Integer, Venue> byID=new HashMap<>();
+            Map<String, Venue> byName=new HashMap<>();
+            for(Venue venue:venues) {
+                Venue v=copy(venue);
+                all.add(v);
+                byID.put(v.getVenueID(),v);
+                if(v.getVenueName()!=null) {
+                    byName.put(v.getVenueName(),v);
+                }
+            }
+            all.sort(Comparator.comparingInt(Venue::getVenueID));
+            this.all=Collections.unmodifiableList(all);
+            this.byID=Collections.unmodifiableMap(byID);
+            this.byName=Collections.unmodifiableMap(byName);
+        }
+    }
+}
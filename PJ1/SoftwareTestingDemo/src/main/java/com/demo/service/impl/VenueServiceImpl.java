@@ -6,6 +6,7 @@ import com.demo.service.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,15 +15,19 @@ import java.util.List;
 public class VenueServiceImpl implements VenueService {
     @Autowired
     private VenueDao venueDao;
+    @Autowired
+    private PageCache pageCache;
+    @Autowired
+    private VenueCatalog venueCatalog;
 
     @Override
     public Venue findByVenueID(int id) {
-        return venueDao.getOne(id);
+        return venueCatalog.findByID(id);
     }
 
     @Override
     public Venue findByVenueName(String venueName) {
-        return venueDao.findByVenueName(venueName);
+        return venueCatalog.findByName(venueName);
     }
 
     @Override
@@ -30,24 +35,36 @@ public class VenueServiceImpl implements VenueService {
         return venueDao.findAll(pageable);
     }
 
+    @Override
+    public Slice<Venue> findSlice(Pageable pageable) {
+        return venueDao.findSlice(pageable);
+    }
+
     @Override
     public List<Venue> findAll() {
-        return venueDao.findAll();
+        return venueCatalog.findAll();
     }
 
     @Override
     public int create(Venue venue) {
-        return venueDao.save(venue).getVenueID();
+        int venueID=venueDao.save(venue).getVenueID();
+        pageCache.invalidate(PageCache.VENUE);
+        venueCatalog.changed();
+        return venueID;
     }
 
     @Override
     public void update(Venue venue) {
         venueDao.save(venue);
+        pageCache.invalidate(PageCache.VENUE);
+        venueCatalog.changed();
     }
 
     @Override
     public void delById(int id) {
         venueDao.deleteById(id);
+        pageCache.invalidate(PageCache.VENUE);
+        venueCatalog.changed();
     }
 
     @Override
@@ -0,0 +1,190 @@
+package com.demo.service.impl;
+
+import com.demo.dao.BookingSlotDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.BookingSlot;
+import com.demo.entity.Order;
+import com.demo.service.OrderService;
+import com.demo.service.VenueSlotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 场馆时段占用索引，按 venueID + 日期 保存每天24小时的占用位图。
+ * 今天及以后的位图从 booking_slot 台账按天加载，超过 ttl 重新加载，其他节点的预订最多晚 ttl 可见；
+ * 本节点的订单变化由 OrderServiceImpl 同步更新到已加载的位图上。
+ * 今天之前的日期台账不完整，回退到订单表。
+ */
+@Service
+public class VenueSlotServiceImpl implements VenueSlotService {
+    private static final List<Integer> ACTIVE_STATES= Arrays.asList(
+            OrderService.STATE_NO_AUDIT,OrderService.STATE_WAIT,OrderService.STATE_FINISH);
+
+    @Autowired
+    private OrderDao orderDao;
+
+    @Autowired
+    private BookingSlotDao bookingSlotDao;
+
+    @Value("${venue-slot.ttl-ms:2000}")
+    long ttl;
+
+    private final ConcurrentMap<Integer, ConcurrentMap<LocalDate, DaySlots>> venues=new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Integer, DaySlots> placed=new ConcurrentHashMap<>();
+
+    @Override
+    public List<Integer> findOccupiedHours(int venueID, LocalDate date, int excludeOrderID) {
+        if(date.isBefore(LocalDate.now())) {
+            int mask=0;
+            for(Order order:orderDao.findByVenueIDAndStartTimeIsBetween(venueID,date.atStartOfDay(),date.plusDays(1).atStartOfDay())) {
+                if(order.getOrderID()!=excludeOrderID && ACTIVE_STATES.contains(order.getState())) {
+                    mask|=mask(order);
+                }
+            }
+            return toHours(mask);
+        }
+        ConcurrentMap<LocalDate, DaySlots> days=venues.computeIfAbsent(venueID,k->new ConcurrentHashMap<>());
+        DaySlots day=days.get(date);
+        if(day==null || System.currentTimeMillis()-day.loadedAt>ttl) {
+            day=load(venueID,date);
+            days.put(date,day);
+        }
+        return toHours(day.occupied(excludeOrderID));
+    }
+
+    /**
+     * 从台账加载某场馆某天的占用，每行是一个订单占用的一小时
+     */
+    private DaySlots load(int venueID, LocalDate date) {
+        DaySlots day=new DaySlots(venueID,date);
+        for(BookingSlot slot:bookingSlotDao.findByVenueIDAndSlotStartGreaterThanEqualAndSlotStartLessThan(
+                venueID,date.atStartOfDay(),date.plusDays(1).atStartOfDay())) {
+            day.add(slot.getOrderID(),1<<slot.getSlotStart().getHour());
+        }
+        for(int orderID:day.orderIDs()) {
+            placed.put(orderID,day);
+        }
+        return day;
+    }
+
+    @Override
+    public void occupy(Order order) {
+        release(order.getOrderID());
+        if(order.getStartTime()==null || !ACTIVE_STATES.contains(order.getState())) {
+            return;
+        }
+        LocalDate date=order.getStartTime().toLocalDate();
+        ConcurrentMap<LocalDate, DaySlots> days=venues.get(order.getVenueID());
+        DaySlots day=days==null?null:days.get(date);
+        if(day==null) {
+            // 还没加载过，下次查询时从台账加载
+            return;
+        }
+        day.add(order.getOrderID(),mask(order));
+        placed.put(order.getOrderID(),day);
+    }
+
+    @Override
+    public void release(int orderID) {
+        DaySlots day=placed.remove(orderID);
+        if(day!=null) {
+            day.remove(orderID);
+        }
+    }
+
+    /**
+     * 每天零点丢弃已经过去的日期和过期的位图
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void evictPastDays() {
+        LocalDate today=LocalDate.now();
+        long now=System.currentTimeMillis();
+        for(ConcurrentMap<LocalDate, DaySlots> days:venues.values()) {
+            days.values().removeIf(day->day.date.isBefore(today) || now-day.loadedAt>ttl);
+        }
+        placed.values().removeIf(day->day.date.isBefore(today) || now-day.loadedAt>ttl);
+    }
+
+    static int mask(Order order) {
+        int start=order.getStartTime().getHour();
+        int end=Math.min(start+order.getHours(),SLOTS_PER_DAY);
+        int mask=0;
+        for(int i=start;i<end;i++) {
+            mask|=1<<i;
+        }
+        return mask;
+    }
+
+    static List<Integer> toHours(int mask) {
+        List<Integer> hours=new ArrayList<>(Integer.bitCount(mask));
+        for(int i=0;i<SLOTS_PER_DAY;i++) {
+            if((mask&(1<<i))!=0) {
+                hours.add(i);
+            }
+        }
+        return hours;
+    }
+
+    /**
+     * 某场馆某天的占用情况，保留每个订单的位图以便释放时重新合并
+     */
+    static class DaySlots {
+        final int venueID;
+        final LocalDate date;
+        final long loadedAt=System.currentTimeMillis();
+        private final Map<Integer, Integer> orders=new HashMap<>();
+        private volatile int occupied;
+
+        DaySlots(int venueID, LocalDate date) {
+            this.venueID=venueID;
+            this.date=date;
+        }
+
+        synchronized void add(int orderID, int mask) {
+            orders.merge(orderID,mask,(a,b)->a|b);
+            occupied|=mask;
+        }
+
+        synchronized void remove(int orderID) {
+            if(orders.remove(orderID)==null) {
+                return;
+            }
+            int mask=0;
+            for(int m:orders.values()) {
+                mask|=m;
+            }
+            occupied=mask;
+        }
+
+        synchronized List<Integer> orderIDs() {
+            return new ArrayList<>(orders.keySet());
+        }
+
+        int occupied(int excludeOrderID) {
+            if(excludeOrderID==0) {
+                return occupied;
+            }
+            synchronized (this) {
+                int mask=0;
+                for(Map.Entry<Integer, Integer> entry:orders.entrySet()) {
+                    if(entry.getKey()!=excludeOrderID) {
+                        mask|=entry.getValue();
+                    }
+                }
+                return mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 发送磁盘上的文件：ETag/Last-Modified 协商缓存、单段 Range、按内容命名的文件长期缓存。
+ * Tomcat 支持 sendfile 时交给连接器用 sendfile 发送，文件内容不经过 JVM 堆；小文件或不支持 sendfile 时用 FileChannel.transferTo 写出。
+ */
+public class FileSender {
+    static final String SENDFILE_SUPPORT="org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME="org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START="org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END="org.apache.tomcat.sendfile.end";
+
+    /**
+     * 比这小的文件直接写出，sendfile 的额外开销不划算，和 Tomcat DefaultServlet 的默认值一致
+     */
+    static final long SENDFILE_MIN_SIZE=48*1024;
+
+    /**
+     * FileUtil 按 SHA-256 保存的文件及其缩略图，内容永远不变
+     */
+    private static final Pattern CONTENT_ADDRESSED=Pattern.compile("([0-9a-f]{64}(?:_w\\d+)?)\\.[a-z0-9]+");
+
+    private static final String IMMUTABLE="public, max-age=31536000, immutable";
+    private static final String REVALIDATE="public, max-age=3600";
+
+    public static void send(Path file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length=Files.size(file);
+        long lastModified=Files.getLastModifiedTime(file).toMillis();
+        Matcher matcher=CONTENT_ADDRESSED.matcher(file.getFileName().toString());
+        boolean immutable=matcher.matches();
+        String etag=immutable?"\""+matcher.group(1)+"\"":"\""+Long.toHexString(length)+"-"+Long.toHexString(lastModified)+"\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,immutable?IMMUTABLE:REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES,"bytes");
+        if(new ServletWebRequest(request,response).checkNotModified(etag,lastModified)) {
+            return;
+        }
+        MediaType type=MediaTypeFactory.getMediaType(file.getFileName().toString()).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(type.toString());
+
+        long start=0;
+        long end=length-1;
+        String range=request.getHeader(HttpHeaders.RANGE);
+        if(range!=null && ifRangeMatches(request,etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges=HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges=null;
+            }
+            // 多段 Range 按 RFC 7233 可以忽略，返回整个文件
+            if(ranges!=null && ranges.size()==1) {
+                HttpRange r=ranges.get(0);
+                try {
+                    start=r.getRangeStart(length);
+                    end=r.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start=length;
+                }
+                if(start>=length || start>end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE,"bytes */"+length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE,"bytes "+start+"-"+end+"/"+length);
+            }
+        }
+        long count=end-start+1;
+        response.setContentLengthLong(count);
+        if("HEAD".equals(request.getMethod()) || count<=0) {
+            return;
+        }
+
+        if(count>=SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 由 Tomcat 在 servlet 返回后用 sendfile 发送
+            request.setAttribute(SENDFILE_FILENAME,file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START,start);
+            request.setAttribute(SENDFILE_END,end+1);
+            return;
+        }
+        try (FileChannel channel=FileChannel.open(file,StandardOpenOption.READ)) {
+            WritableByteChannel out=Channels.newChannel(response.getOutputStream());
+            long position=start;
+            long remaining=count;
+            while(remaining>0) {
+                long sent=channel.transferTo(position,remaining,out);
+                if(sent<=0) {
+                    break;
+                }
+                position+=sent;
+                remaining-=sent;
+            }
+        }
+    }
+
+    /**
+     * 没有 If-Range 或者 ETag 一致时才按 Range 返回，否则返回整个文件
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange=request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange==null || ifRange.equals(etag);
+    }
+}
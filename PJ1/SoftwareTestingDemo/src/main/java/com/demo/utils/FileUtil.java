@@ -1,18 +1,41 @@
 package com.demo.utils;
 
 import org.springframework.util.ClassUtils;
-import org.springframework.util.ResourceUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
-import java.util.UUID;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 
 public class FileUtil {
+    private static final char[] HEX="0123456789abcdef".toCharArray();
+
+    private static final Object[] LOCKS=new Object[64];
+
+    static {
+        for(int i=0;i<LOCKS.length;i++) {
+            LOCKS[i]=new Object();
+        }
+    }
+
+    /**
+     * 同一路径的锁。保存时替换文件、清理任务检查修改时间再删除，都要持有它，两步之间不会插进对方。
+     * 只在本进程内互斥
+     *
+     * @param file
+     * @return
+     */
+    public static Object lockFor(Path file) {
+        return LOCKS[(file.toAbsolutePath().normalize().hashCode()&0x7fffffff)%LOCKS.length];
+    }
 
     /**
      * 保存上传的文件
@@ -26,32 +49,123 @@ public class FileUtil {
         if (picture.isEmpty()) {
             return "";
         }
-        String fileDirPath = ClassUtils.getDefaultClassLoader().getResource("static").getPath() + "/file/venue";
-        return "file/venue/" + savePicture(fileDirPath, picture);
+        return saveVenueFile(picture.getInputStream(), picture.getOriginalFilename());
     }
 
     public static String saveUserFile(MultipartFile picture) throws Exception{
         if (picture.isEmpty()) {
             return "";
         }
-        String fileDirPath = ClassUtils.getDefaultClassLoader().getResource("static").getPath() + "/file/user";
-        return "file/user/" + savePicture(fileDirPath, picture);
+        return saveUserFile(picture.getInputStream(), picture.getOriginalFilename());
     }
 
-    public static String savePicture(String filePath, MultipartFile picture) throws Exception{
-        File fileDir = new File(filePath);
-        System.out.println(fileDir.mkdirs());
+    /**
+     * 边读上传流边保存
+     *
+     * @param in
+     * @param filename 原文件名，只用来取后缀
+     * @return 文件下载的url，内容为空时返回空串
+     * @throws IOException
+     */
+    public static String saveVenueFile(InputStream in, String filename) throws IOException {
+        String name=savePicture(staticPath("file/venue").toString(), in, filename);
+        return name.isEmpty()?"":"file/venue/" + name;
+    }
 
-        String filename = picture.getOriginalFilename();
+    public static String saveUserFile(InputStream in, String filename) throws IOException {
+        String name=savePicture(staticPath("file/user").toString(), in, filename);
+        return name.isEmpty()?"":"file/user/" + name;
+    }
 
-        System.out.println(fileDir.getAbsolutePath());
-        String suffixName = filename.substring(filename.lastIndexOf("."));
-        filename = UUID.randomUUID() + suffixName;
-        File newFile = new File(fileDir.getAbsolutePath() + File.separator + filename);
-        System.out.println(newFile.getAbsolutePath());
-        // 上传图片到 -》 “绝对路径”
-        picture.transferTo(newFile);
-        return filename;
+    /**
+     * 静态资源目录下的文件，找不到静态资源目录时返回 null
+     *
+     * @param relative 如 file/venue/xxx.png
+     * @return
+     */
+    public static Path staticPath(String relative) {
+        URL url=ClassUtils.getDefaultClassLoader().getResource("static");
+        if(url==null) {
+            return null;
+        }
+        return Paths.get(url.getPath()).resolve(relative);
     }
 
+    /**
+     * 按内容的 SHA-256 保存，路径为 前两位/三四位/哈希.后缀，内容相同的文件只存一份。
+     * 上传流边写临时文件边算哈希，不在内存里整份保留；算完再原子地移动到最终位置，
+     * 已有同样内容的文件时也用新文件原子地替换，新文件的修改时间是现在，清理任务不会把它当成孤儿删掉。
+     *
+     * @param filePath 存放目录
+     * @param picture
+     * @return 相对 filePath 的路径
+     * @throws IOException
+     */
+    public static String savePicture(String filePath, MultipartFile picture) throws IOException {
+        return savePicture(filePath, picture.getInputStream(), picture.getOriginalFilename());
+    }
+
+    /**
+     * 同 savePicture(String, MultipartFile)，直接读上传流
+     *
+     * @param filePath 存放目录
+     * @param input 上传流，由调用方关闭
+     * @param filename 原文件名，只用来取后缀
+     * @return 相对 filePath 的路径，内容为空时返回空串
+     * @throws IOException
+     */
+    public static String savePicture(String filePath, InputStream input, String filename) throws IOException {
+        Path dir=Paths.get(filePath);
+        Path tmpDir=dir.resolve(".tmp");
+        Files.createDirectories(tmpDir);
+        Path tmp=Files.createTempFile(tmpDir,"upload",".part");
+        try {
+            MessageDigest digest=sha256();
+            if(Files.copy(new DigestInputStream(input,digest),tmp,StandardCopyOption.REPLACE_EXISTING)==0) {
+                return "";
+            }
+            String hash=hex(digest.digest());
+            String name=hash.substring(0,2)+"/"+hash.substring(2,4)+"/"+hash+suffix(filename);
+            Path target=dir.resolve(name);
+            Files.createDirectories(target.getParent());
+            synchronized(lockFor(target)) {
+                Files.move(tmp,target,StandardCopyOption.REPLACE_EXISTING,StandardCopyOption.ATOMIC_MOVE);
+            }
+            return name;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 原文件名的后缀，统一小写；没有后缀或后缀里有路径字符时不带后缀
+     */
+    static String suffix(String filename) {
+        if(filename==null) {
+            return "";
+        }
+        int dot=filename.lastIndexOf('.');
+        if(dot<0) {
+            return "";
+        }
+        String suffix=filename.substring(dot).toLowerCase(Locale.ROOT);
+        return suffix.matches("\\.[a-z0-9]{1,10}")?suffix:"";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars=new char[bytes.length*2];
+        for(int i=0;i<bytes.length;i++) {
+            chars[i*2]=HEX[(bytes[i]>>4)&0xf];
+            chars[i*2+1]=HEX[bytes[i]&0xf];
+        }
+        return new String(chars);
+    }
 }
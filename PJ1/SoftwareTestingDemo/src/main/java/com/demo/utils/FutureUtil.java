@@ -0,0 +1,65 @@
+package com.demo.utils;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class FutureUtil {
+    /**
+     * 等待结果直到截止时间，超时抛出异常；任务本身抛出的 RuntimeException 原样抛出。
+     * 超时不会中断已经在执行的任务（CompletableFuture 的 cancel 不中断线程），要放弃其他还没开始的任务用 cancelAll
+     *
+     * @param future
+     * @param deadline System.nanoTime() 下的截止时间
+     * @param name 出错时提示是哪个查询
+     * @return
+     */
+    public static <T> T get(Future<T> future, long deadline, String name) {
+        try {
+            return future.get(Math.max(deadline-System.nanoTime(),0),TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new RuntimeException(name+"查询超时");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(name+"查询被中断");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(name+"查询失败",e.getCause());
+        }
+    }
+
+    /**
+     * 一直等到有结果，异常处理同 get(future, deadline, name)
+     *
+     * @param future
+     * @param name 出错时提示是哪个查询
+     * @return
+     */
+    public static <T> T get(Future<T> future, String name) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(name+"查询被中断");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(name+"查询失败",e.getCause());
+        }
+    }
+
+    /**
+     * 一组查询中有一个失败时取消其余的。还在排队的任务不会再执行，已经在执行的会跑完
+     *
+     * @param futures
+     */
+    public static void cancelAll(Future<?>... futures) {
+        for(Future<?> future:futures) {
+            future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.demo.utils;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 上传图片的缩略图。缩略图和原图放在同一目录，文件名为 原名_w宽度.jpg（原图是 png/gif 时为 .png），
+ * 页面按需要的宽度取，缩略图还没生成时返回原图。
+ */
+public class ImageUtil {
+    /**
+     * 头像
+     */
+    public static final int AVATAR=64;
+    /**
+     * 场馆卡片
+     */
+    public static final int CARD=320;
+
+    static final int[] WIDTHS={AVATAR,CARD};
+
+    /**
+     * 解码前先看尺寸，超过这个像素数的图片不生成缩略图，避免一张声明了超大画布的小文件耗尽堆内存
+     */
+    static final long MAX_PIXELS=40_000_000L;
+
+    /**
+     * 缩略图不存在的结果保留的时间（毫秒），期间不再查磁盘；缩略图生成后立即失效
+     */
+    static final long MISS_TTL=60_000L;
+
+    private static final Set<String> READY=ConcurrentHashMap.newKeySet();
+
+    private static final ConcurrentHashMap<String, Long> MISSING=new ConcurrentHashMap<>();
+
+    /**
+     * 有对应宽度的缩略图就返回缩略图路径，否则返回原图
+     *
+     * @param picture 保存时返回的路径，如 file/venue/ab/cd/xxx.png
+     * @param width AVATAR 或 CARD
+     * @return
+     */
+    public static String variant(String picture, int width) {
+        String variant=variantPath(picture,width);
+        if(variant==null) {
+            return picture;
+        }
+        if(READY.contains(variant)) {
+            return variant;
+        }
+        Long missingUntil=MISSING.get(variant);
+        long now=System.currentTimeMillis();
+        if(missingUntil!=null && missingUntil>now) {
+            return picture;
+        }
+        Path file=FileUtil.staticPath(variant);
+        if(file!=null && Files.exists(file)) {
+            READY.add(variant);
+            MISSING.remove(variant);
+            return variant;
+        }
+        MISSING.put(variant,now+MISS_TTL);
+        return picture;
+    }
+
+    /**
+     * 文件被删除后调用，不再把它当作已生成的缩略图返回
+     *
+     * @param path 如 file/venue/ab/cd/xxx_w64.png
+     */
+    public static void forget(String path) {
+        READY.remove(path);
+        MISSING.remove(path);
+    }
+
+    /**
+     * 一张原图的全部缩略图路径，不管是否已经生成
+     *
+     * @param picture
+     * @return 不是上传目录里的图片时为空
+     */
+    public static List<String> variantsOf(String picture) {
+        List<String> variants=new ArrayList<>(WIDTHS.length);
+        for(int width:WIDTHS) {
+            String variant=variantPath(picture,width);
+            if(variant!=null) {
+                variants.add(variant);
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * 缩略图的路径，不是上传目录里的图片时返回 null
+     */
+    static String variantPath(String picture, int width) {
+        if(picture==null || !picture.startsWith("file/") || picture.contains("..")) {
+            return null;
+        }
+        int dot=picture.lastIndexOf('.');
+        int slash=picture.lastIndexOf('/');
+        String base=dot>slash?picture.substring(0,dot):picture;
+        return base+"_w"+width+"."+format(picture);
+    }
+
+    /**
+     * 生成全部宽度的缩略图，原图不比目标宽时不放大，直接跳过
+     *
+     * @param picture
+     * @return 新生成的缩略图个数，原图无法解码时为 0
+     * @throws IOException 读写失败，或原图尺寸超过 MAX_PIXELS
+     */
+    public static int generate(String picture) throws IOException {
+        Path original=variantPath(picture,AVATAR)==null?null:FileUtil.staticPath(picture);
+        if(original==null || !Files.exists(original)) {
+            return 0;
+        }
+        BufferedImage image=read(original);
+        if(image==null) {
+            return 0;
+        }
+        String format=format(picture);
+        int generated=0;
+        for(int width:WIDTHS) {
+            Path target=FileUtil.staticPath(variantPath(picture,width));
+            if(image.getWidth()<=width || Files.exists(target)) {
+                continue;
+            }
+            write(scale(image,width,"png".equals(format)),format,target);
+            String variant=variantPath(picture,width);
+            READY.add(variant);
+            MISSING.remove(variant);
+            generated++;
+        }
+        return generated;
+    }
+
+    /**
+     * 先只读文件头里的宽高，没超过 MAX_PIXELS 才解码整张图
+     *
+     * @return 不是能识别的图片格式时为 null
+     */
+    static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in=ImageIO.createImageInputStream(file.toFile())) {
+            if(in==null) {
+                return null;
+            }
+            Iterator<ImageReader> readers=ImageIO.getImageReaders(in);
+            if(!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader=readers.next();
+            try {
+                reader.setInput(in,true,true);
+                int width=reader.getWidth(0);
+                int height=reader.getHeight(0);
+                if((long) width*height>MAX_PIXELS) {
+                    throw new IOException("图片尺寸过大："+width+"x"+height);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String format(String picture) {
+        String lower=picture.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".png") || lower.endsWith(".gif")?"png":"jpg";
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, boolean alpha) {
+        int height=Math.max(1,(int) Math.round((double) image.getHeight()*width/image.getWidth()));
+        BufferedImage scaled=new BufferedImage(width,height,alpha?BufferedImage.TYPE_INT_ARGB:BufferedImage.TYPE_INT_RGB);
+        Graphics2D g=scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING,RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image,0,0,width,height,null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * 先写临时文件再移动，页面不会取到写了一半的缩略图
+     */
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Path tmp=Files.createTempFile(target.getParent(),"thumb",".part");
+        try {
+            try (OutputStream out=Files.newOutputStream(tmp)) {
+                if(!ImageIO.write(image,format,out)) {
+                    throw new IOException("不支持的图片格式："+format);
+                }
+            }
+            Files.move(tmp,target,StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.utils;
+
+import com.demo.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 按 (时间, id) 倒序翻页的游标，对前端是不透明的字符串
+ */
+public class KeysetCursor {
+    /**
+     * 第一页从最大时间开始，MySQL datetime 的上限
+     */
+    private static final KeysetCursor FIRST=new KeysetCursor(LocalDateTime.of(9999,12,31,23,59,59),Integer.MAX_VALUE);
+
+    private final LocalDateTime time;
+
+    private final int id;
+
+    public KeysetCursor(LocalDateTime time, int id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public LocalDateTime getTime() {
+        return time;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public static String encode(LocalDateTime time, int id) {
+        String raw=time+"|"+id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，空字符串表示第一页
+     *
+     * @param token
+     * @return
+     * @throws InvalidCursorException 游标格式不对，调用方会得到 400
+     */
+    public static KeysetCursor decode(String token) {
+        if(token==null || token.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            String raw=new String(Base64.getUrlDecoder().decode(token),StandardCharsets.UTF_8);
+            int split=raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0,split)),Integer.parseInt(raw.substring(split+1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("无效的分页游标",e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.demo.utils;
+
+/**
+ * 分页相关的小工具
+ */
+public class PageUtil {
+    /**
+     * 按总条数算总页数，和 Page.getTotalPages() 一致，没有数据时为0
+     */
+    public static int totalPages(long count, int size) {
+        return (int) ((count+size-1)/size);
+    }
+}
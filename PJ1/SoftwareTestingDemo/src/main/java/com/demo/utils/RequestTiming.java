@@ -0,0 +1,100 @@
+package com.demo.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一个请求在各层花的时间，按类别累计，最后输出成 Server-Timing 头。
+ * 放在请求线程的 ThreadLocal 里，Dao、Service、视图渲染和 JSON 序列化各自 enter/exit；
+ * 同一类嵌套调用（Service 调 Service）只算最外层。当前线程没有开始计时时 enter/exit 什么也不做，
+ * 后台线程、定时任务里的调用不受影响。
+ * 只在一个线程上使用，不需要同步。
+ */
+public class RequestTiming {
+    public static final String DB="db";
+    public static final String SERVICE="service";
+    public static final String VIEW="view";
+    public static final String JSON="json";
+
+    private static final ThreadLocal<RequestTiming> CURRENT=new ThreadLocal<>();
+
+    private final long start=System.nanoTime();
+
+    private final Map<String, Span> spans=new LinkedHashMap<>();
+
+    /**
+     * 在当前线程上开始一个请求的计时
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing=new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void enter(String name) {
+        RequestTiming timing=CURRENT.get();
+        if(timing!=null) {
+            timing.spans.computeIfAbsent(name,k->new Span()).enter();
+        }
+    }
+
+    public static void exit(String name) {
+        RequestTiming timing=CURRENT.get();
+        if(timing!=null) {
+            Span span=timing.spans.get(name);
+            if(span!=null) {
+                span.exit();
+            }
+        }
+    }
+
+    /**
+     * 各类别到目前为止的耗时，还没 exit 的按现在算
+     *
+     * @return 如 db;dur=3.1, service;dur=12.0, total;dur=15.2
+     */
+    public String header() {
+        long now=System.nanoTime();
+        StringBuilder sb=new StringBuilder();
+        for(Map.Entry<String, Span> entry:spans.entrySet()) {
+            sb.append(entry.getKey()).append(";dur=").append(millis(entry.getValue().nanos(now))).append(", ");
+        }
+        return sb.append("total;dur=").append(millis(now-start)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT,"%.1f",nanos/(double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static class Span {
+        long nanos;
+        int depth;
+        long enteredAt;
+
+        void enter() {
+            if(depth++==0) {
+                enteredAt=System.nanoTime();
+            }
+        }
+
+        void exit() {
+            if(depth>0 && --depth==0) {
+                nanos+=System.nanoTime()-enteredAt;
+            }
+        }
+
+        long nanos(long now) {
+            return depth>0?nanos+now-enteredAt:nanos;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+-- 初始表结构，与上线迁移前 ddl-auto 生成的表一致。
+-- 已有数据的库通过 baseline-on-migrate 记为版本1，不会执行本文件。
+
+CREATE TABLE IF NOT EXISTS `booking_slot` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `venueID` int(11) NOT NULL,
+  `slot_start` datetime NOT NULL,
+  `orderID` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_venue_slot` (`venueID`,`slot_start`),
+  KEY `orderID` (`orderID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS `message` (
+  `messageID` int(11) NOT NULL AUTO_INCREMENT,
+  `state` int(11) DEFAULT NULL,
+  `userID` varchar(25) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL,
+  `content` varchar(5000) DEFAULT NULL,
+  `time` datetime DEFAULT NULL,
+  PRIMARY KEY (`messageID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS `news` (
+  `newsID` int(11) NOT NULL AUTO_INCREMENT,
+  `title` varchar(100) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL,
+  `content` varchar(5000) DEFAULT NULL,
+  `time` datetime(6) DEFAULT NULL,
+  PRIMARY KEY (`newsID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS `order` (
+  `orderID` int(11) NOT NULL AUTO_INCREMENT,
+  `userID` varchar(25) NOT NULL,
+  `venueID` int(11) NOT NULL,
+  `order_time` datetime DEFAULT NULL,
+  `start_time` datetime DEFAULT NULL,
+  `hours` int(2) DEFAULT NULL,
+  `state` int(1) DEFAULT NULL,
+  `total` int(5) DEFAULT NULL,
+  PRIMARY KEY (`orderID`),
+  KEY `userID` (`userID`),
+  KEY `gymID` (`venueID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS `user` (
+  `id` int(10) NOT NULL AUTO_INCREMENT,
+  `userID` varchar(255) CHARACTER SET utf8 COLLATE utf8_general_ci NOT NULL,
+  `password` varchar(255) DEFAULT NULL,
+  `email` varchar(255) DEFAULT NULL,
+  `phone` varchar(255) DEFAULT NULL,
+  `isadmin` int(10) NOT NULL,
+  `user_name` varchar(255) DEFAULT NULL,
+  `picture` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+CREATE TABLE IF NOT EXISTS `venue` (
+  `venueID` int(5) NOT NULL AUTO_INCREMENT,
+  `description` varchar(1000) DEFAULT NULL,
+  `price` int(5) DEFAULT NULL,
+  `picture` varchar(255) DEFAULT NULL,
+  `venue_name` varchar(255) CHARACTER SET utf8 COLLATE utf8_general_ci DEFAULT NULL,
+  `address` varchar(255) DEFAULT NULL,
+  `close_time` varchar(255) DEFAULT NULL,
+  `open_time` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`venueID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
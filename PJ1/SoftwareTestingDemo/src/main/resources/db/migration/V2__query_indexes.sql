@@ -0,0 +1,103 @@
+-- 常用查询的复合索引和唯一约束。
+-- MySQL 没有 CREATE INDEX IF NOT EXISTS，每条先查 information_schema，
+-- 之前由 ddl-auto 建过的同名索引会跳过，本文件可以重复执行。
+-- 唯一约束要求 user.userID、venue.venue_name 没有重复数据，执行前请先清理。
+
+-- 未审核/已审核订单按下单时间分页
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'order' AND index_name = 'idx_order_state_order_time') = 0,
+               'ALTER TABLE `order` ADD INDEX `idx_order_state_order_time` (`state`,`order_time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 场馆某天的订单
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'order' AND index_name = 'idx_order_venue_start_time') = 0,
+               'ALTER TABLE `order` ADD INDEX `idx_order_venue_start_time` (`venueID`,`start_time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 用户订单按下单时间分页
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'order' AND index_name = 'idx_order_user_order_time') = 0,
+               'ALTER TABLE `order` ADD INDEX `idx_order_user_order_time` (`userID`,`order_time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 按状态的留言按时间分页
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'message' AND index_name = 'idx_message_state_time') = 0,
+               'ALTER TABLE `message` ADD INDEX `idx_message_state_time` (`state`,`time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 用户留言按时间分页
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'message' AND index_name = 'idx_message_user_time') = 0,
+               'ALTER TABLE `message` ADD INDEX `idx_message_user_time` (`userID`,`time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 新闻按时间分页
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'news' AND index_name = 'idx_news_time') = 0,
+               'ALTER TABLE `news` ADD INDEX `idx_news_time` (`time`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 登录和按 userID 查询
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'user' AND index_name = 'uk_user_userid') = 0,
+               'ALTER TABLE `user` ADD UNIQUE INDEX `uk_user_userid` (`userID`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 管理员分页查看普通用户
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'user' AND index_name = 'idx_user_isadmin') = 0,
+               'ALTER TABLE `user` ADD INDEX `idx_user_isadmin` (`isadmin`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 按场馆名查询
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'venue' AND index_name = 'uk_venue_name') = 0,
+               'ALTER TABLE `venue` ADD UNIQUE INDEX `uk_venue_name` (`venue_name`)',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 已被 idx_order_user_order_time 覆盖
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'order' AND index_name = 'userID') > 0,
+               'ALTER TABLE `order` DROP INDEX `userID`',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 已被 idx_order_venue_start_time 覆盖
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'order' AND index_name = 'gymID') > 0,
+               'ALTER TABLE `order` DROP INDEX `gymID`',
+               'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,13 @@
+-- 订单时段台账。
+-- 已有数据的库第一次启动时记为版本1，V1 不会执行，台账表在这里补建；新库已由 V1 建好，这里跳过。
+-- 不改 V1 本身，已经执行过 V1 的库校验和不变。
+
+CREATE TABLE IF NOT EXISTS `booking_slot` (
+  `id` int(11) NOT NULL AUTO_INCREMENT,
+  `venueID` int(11) NOT NULL,
+  `slot_start` datetime NOT NULL,
+  `orderID` int(11) NOT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_venue_slot` (`venueID`,`slot_start`),
+  KEY `orderID` (`orderID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
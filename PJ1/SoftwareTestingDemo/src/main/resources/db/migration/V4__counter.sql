@@ -0,0 +1,22 @@
+-- 订单和留言按状态、按用户的计数，分页总数直接读这里，不再每次 count(*)。
+-- 计数和业务数据在同一事务里增减，多个节点共用；这里按已有数据初始化一次。
+
+CREATE TABLE IF NOT EXISTS `counter` (
+  `name` varchar(64) NOT NULL,
+  `n` bigint(20) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+DELETE FROM `counter`;
+
+INSERT INTO `counter` (name, n)
+SELECT CONCAT('order:state:', state), COUNT(*) FROM `order` WHERE state IS NOT NULL GROUP BY state;
+
+INSERT INTO `counter` (name, n)
+SELECT CONCAT('order:user:', userID), COUNT(*) FROM `order` WHERE userID IS NOT NULL GROUP BY userID;
+
+INSERT INTO `counter` (name, n)
+SELECT CONCAT('message:state:', state), COUNT(*) FROM message WHERE state IS NOT NULL GROUP BY state;
+
+INSERT INTO `counter` (name, n)
+SELECT CONCAT('message:user:', userID), COUNT(*) FROM message WHERE userID IS NOT NULL GROUP BY userID;
@@ -0,0 +1,58 @@
+package com.demo.config;
+
+import com.demo.dao.VenueDao;
+import com.demo.entity.Venue;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DaoMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+
+    private VenueDao venueDao;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        VenueDao target = mock(VenueDao.class);
+        when(target.findByVenueID(1)).thenReturn(new Venue());
+        when(target.findAll()).thenReturn(Collections.emptyList());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(VenueDao.class);
+        factory.addAspect(new DaoMetricsAspect(registry));
+        venueDao = factory.getProxy();
+    }
+
+    // 按 Dao 接口名和方法名分别计时
+    @Test
+    void testRecord_PerRepositoryMethod() {
+        venueDao.findByVenueID(1);
+        venueDao.findByVenueID(1);
+        venueDao.findAll();
+
+        Timer byID = registry.get(DaoMetricsAspect.METRIC).tag("repository", "VenueDao").tag("method", "findByVenueID").timer();
+        Timer all = registry.get(DaoMetricsAspect.METRIC).tag("repository", "VenueDao").tag("method", "findAll").timer();
+        assertEquals(2, byID.count());
+        assertEquals(1, all.count());
+    }
+
+    // 只统计 begin 和 end 之间当前线程上的调用
+    @Test
+    void testCallsPerThread() {
+        venueDao.findAll();
+        DaoMetricsAspect.begin();
+        venueDao.findAll();
+        venueDao.findByVenueID(1);
+        assertEquals(2, DaoMetricsAspect.end());
+        assertEquals(0, DaoMetricsAspect.end());
+    }
+}
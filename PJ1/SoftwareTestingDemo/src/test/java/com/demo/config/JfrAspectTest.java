@@ -0,0 +1,75 @@
+package com.demo.config;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.jfr.RepositoryEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JfrAspectTest {
+
+    @TempDir
+    Path dir;
+
+    // 录制时 Dao 调用带上 Dao 名、方法、订单ID 和行数
+    @Test
+    void testRepositoryEvents() throws Exception {
+        OrderDao target = mock(OrderDao.class);
+        Order order = new Order();
+        order.setOrderID(7);
+        order.setVenueID(3);
+        when(target.findByOrderID(7)).thenReturn(order);
+        when(target.findAll()).thenReturn(Arrays.asList(order, order));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(OrderDao.class);
+        factory.addAspect(new JfrAspect());
+        OrderDao orderDao = factory.getProxy();
+
+        Path file = dir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(RepositoryEvent.class);
+            recording.start();
+            orderDao.findByOrderID(7);
+            orderDao.findAll();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.demo.Repository"))
+                .collect(Collectors.toList());
+        assertEquals(2, events.size());
+        assertEquals("OrderDao", events.get(0).getString("repository"));
+        assertEquals("findByOrderID", events.get(0).getString("method"));
+        assertEquals(7, events.get(0).getInt("orderID"));
+        assertEquals(1, events.get(0).getInt("rows"));
+        assertEquals(2, events.get(1).getInt("rows"));
+    }
+
+    @Test
+    void testRows() {
+        assertEquals(0, JfrAspect.rows(null, false));
+        assertEquals(3, JfrAspect.rows(Arrays.asList(1, 2, 3), false));
+        assertEquals(1, JfrAspect.rows(new SliceImpl<>(Collections.singletonList("a"), PageRequest.of(0, 10), false), false));
+        // 更新语句的返回值是影响行数，其他方法返回的数字是 id 或 count
+        assertEquals(5, JfrAspect.rows(5, true));
+        assertEquals(0, JfrAspect.rows(5, false));
+        assertEquals(1, JfrAspect.rows(new Order(), false));
+    }
+}
@@ -0,0 +1,80 @@
+package com.demo.controller.admin;
+
+import com.demo.entity.User;
+import com.demo.entity.vo.GcReport;
+import com.demo.service.UploadGcService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminFileController.class)
+public class AdminFileControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UploadGcService uploadGcService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User();
+        admin.setUserID("admin");
+        admin.setIsadmin(1);
+        session = new MockHttpSession();
+        session.setAttribute("admin", admin);
+    }
+
+    // 不指定时只试运行
+    @Test
+    void testUploadGc_DefaultsToDryRun() throws Exception {
+        when(uploadGcService.start(true)).thenReturn(true);
+
+        mockMvc.perform(post("/uploadGc.do").session(session))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+        verify(uploadGcService).start(true);
+    }
+
+    @Test
+    void testUploadGc_Delete() throws Exception {
+        when(uploadGcService.start(false)).thenReturn(true);
+
+        mockMvc.perform(post("/uploadGc.do").param("dryRun", "false").session(session))
+                .andExpect(status().isOk());
+        verify(uploadGcService).start(false);
+    }
+
+    @Test
+    void testUploadGcReport() throws Exception {
+        GcReport report = new GcReport();
+        report.setOrphans(3);
+        when(uploadGcService.lastReport()).thenReturn(report);
+
+        mockMvc.perform(get("/uploadGcReport.do").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orphans").value(3));
+    }
+
+    // 未登录管理员不能清理，也不能看报告
+    @Test
+    void testUploadGc_NotAdmin() {
+        assertThrows(Exception.class, () -> mockMvc.perform(post("/uploadGc.do").param("dryRun", "false")));
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/uploadGcReport.do")));
+        verify(uploadGcService, never()).start(anyBoolean());
+    }
+}
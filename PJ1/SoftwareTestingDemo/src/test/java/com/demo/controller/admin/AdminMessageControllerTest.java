@@ -76,26 +76,21 @@ class AdminMessageControllerTest {
 
     @Test
     void testMessageManage_valid_OK() throws Exception {
-        Pageable message_pageable = PageRequest.of(0, 10, Sort.by("time").descending());
-        Page<Message> messagePage = new PageImpl<>(messages, message_pageable, 3);
-
         //given
-        when(messageService.findWaitState(message_pageable)).thenReturn(messagePage);
+        when(messageService.countWaitState()).thenReturn(11L);
         //when&then
         mockMvc.perform(get("/message_manage"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin/message_manage"))
-                .andExpect(model().attribute("total", messagePage.getTotalPages()));
-        verify(messageService, times(1)).findWaitState(message_pageable);
+                .andExpect(model().attribute("total", 2));
+        verify(messageService, times(1)).countWaitState();
+        verify(messageService, never()).findWaitState(any(Pageable.class));
     }
 
     @Test
     void testMessageManage_withoutMessages_OK() throws Exception {
-        Pageable message_pageable = PageRequest.of(0, 10, Sort.by("time").descending());
-        Page<Message> emptyPage = new PageImpl<>(Collections.emptyList(), message_pageable, 0);
-
         //given
-        when(messageService.findWaitState(message_pageable)).thenReturn(emptyPage);
+        when(messageService.countWaitState()).thenReturn(0L);
 
         //when&then
         mockMvc.perform(get("/message_manage"))
@@ -114,8 +109,8 @@ class AdminMessageControllerTest {
         messageVos.add(new MessageVo(message1.getMessageID(), message1.getUserID(), message1.getContent(),
                 message1.getTime(), user1.getUserName(), user1.getPicture(), message1.getState()));
         //given
-        when(messageService.findWaitState(message_pageable)).thenReturn(new PageImpl<>(messages_test,
-                message_pageable, 1));
+        when(messageService.findWaitStateSlice(message_pageable)).thenReturn(new SliceImpl<>(messages_test,
+                message_pageable, false));
         when(messageVoService.returnVo(messages_test)).thenReturn(messageVos);
         //when&then
         mockMvc.perform(get("/messageList.do")
@@ -130,7 +125,7 @@ class AdminMessageControllerTest {
                 .andExpect(jsonPath("$[0].state").value(messages_test.get(0).getState()))
                 .andExpect(jsonPath("$[0].userName").value(messageVos.get(0).getUserName()));
 
-        verify(messageService, times(1)).findWaitState(message_pageable);
+        verify(messageService, times(1)).findWaitStateSlice(message_pageable);
         verify(messageVoService, times(1)).returnVo(messages_test);
 
     }
@@ -139,10 +134,10 @@ class AdminMessageControllerTest {
     void testMessageList_withEmptyPage_OK() throws Exception {
         int page = 99; // Assuming this is beyond the total number of available pages
         Pageable message_pageable = PageRequest.of(page - 1, 10, Sort.by("time").descending());
-        Page<Message> emptyPage = new PageImpl<>(Collections.emptyList(), message_pageable, 0);
+        Slice<Message> emptySlice = new SliceImpl<>(Collections.emptyList(), message_pageable, false);
 
         //given
-        when(messageService.findWaitState(message_pageable)).thenReturn(emptyPage);
+        when(messageService.findWaitStateSlice(message_pageable)).thenReturn(emptySlice);
 
         //when&then
         mockMvc.perform(get("/messageList.do")
@@ -179,10 +174,10 @@ class AdminMessageControllerTest {
     void testMessageList_pageNumberTooHigh_OK() throws Exception {
         int highPage = 2; // 假设只有1页数据，请求第2页
         Pageable pageable = PageRequest.of(highPage - 1, 10, Sort.by("time").descending());
-        Page<Message> emptyPage = new PageImpl<>(Collections.emptyList(), pageable, 1); // 总共1页
+        Slice<Message> emptySlice = new SliceImpl<>(Collections.emptyList(), pageable, false); // 没有下一页
 
         // 配置mock对象返回预设的值
-        when(messageService.findWaitState(pageable)).thenReturn(emptyPage);
+        when(messageService.findWaitStateSlice(pageable)).thenReturn(emptySlice);
 
         // 执行GET请求
         mockMvc.perform(get("/messageList.do")
@@ -192,7 +187,7 @@ class AdminMessageControllerTest {
                 .andExpect(content().string("[]")); // 预期返回空数组，因为没有数据
 
         // 验证mock对象的方法被调用
-        verify(messageService).findWaitState(pageable);
+        verify(messageService).findWaitStateSlice(pageable);
     }
 
     @Test
@@ -0,0 +1,96 @@
+package com.demo.controller.admin;
+
+import com.demo.entity.User;
+import com.demo.entity.vo.PerformanceVo;
+import com.demo.entity.vo.SlowRequest;
+import com.demo.service.PerformanceService;
+import com.demo.service.SlowRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminMonitorController.class)
+public class AdminMonitorControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SlowRequestService slowRequestService;
+
+    @MockBean
+    private PerformanceService performanceService;
+
+    private MockHttpSession session;
+
+    private SlowRequest slow;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User();
+        admin.setUserID("admin");
+        admin.setIsadmin(1);
+        session = new MockHttpSession();
+        session.setAttribute("admin", admin);
+
+        slow = new SlowRequest("GET /index", "u001", LocalDateTime.of(2020, 1, 1, 10, 0), 12000, false, 20,
+                Collections.singletonList(new SlowRequest.StackSample("com.demo.Foo.bar(Foo.java:1)\n", 20)));
+    }
+
+    @Test
+    void testSlowRequests() throws Exception {
+        when(slowRequestService.worst(20)).thenReturn(Collections.singletonList(slow));
+
+        mockMvc.perform(get("/slowRequests.do").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].uri").value("GET /index"))
+                .andExpect(jsonPath("$[0].stacks[0].count").value(20));
+    }
+
+    // limit 限制在 1 到 100 之间
+    @Test
+    void testSlowRequests_LimitClamped() throws Exception {
+        when(slowRequestService.worst(100)).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/slowRequests.do").param("limit", "1000").session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void testPerformancePage() throws Exception {
+        PerformanceVo perf = new PerformanceVo();
+        perf.getEndpoints().add(new PerformanceVo.TimerStat("/index", 10, 5.0, 20.0, 30.0));
+        perf.getRepositories().add(new PerformanceVo.TimerStat("OrderDao.findAll", 3, 1.0, 2.0, 2.5));
+        perf.getCaches().add(new PerformanceVo.CacheStat("页面缓存", 9, 1));
+        perf.getHistory().add(new PerformanceVo.MinuteStat("10:00", 100, 1048576, 5, 2, 0));
+        perf.setPeakRequests(100);
+        when(performanceService.snapshot(10)).thenReturn(perf);
+        when(slowRequestService.worst(10)).thenReturn(Collections.singletonList(slow));
+
+        mockMvc.perform(get("/admin_performance").session(session))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("perf", perf))
+                .andExpect(model().attributeExists("slow_list"))
+                .andExpect(view().name("admin/performance"));
+    }
+
+    // 未登录管理员不能查看
+    @Test
+    void testPerformancePage_NotAdmin() {
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/admin_performance")));
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/slowRequests.do")));
+    }
+}
@@ -132,9 +132,9 @@ class AdminNewsControllerTest {
     @Test
     void testNewsList() throws Exception {
         Pageable expectedPageable = PageRequest.of(0, 10, Sort.by("time").descending());
-        Page<News> expectedPage = new PageImpl<>(Collections.singletonList(news), expectedPageable, 1);
+        Slice<News> expectedSlice = new SliceImpl<>(Collections.singletonList(news), expectedPageable, false);
 
-        when(newsService.findAll(expectedPageable)).thenReturn(expectedPage);
+        when(newsService.findSlice(expectedPageable)).thenReturn(expectedSlice);
 
         mockMvc.perform(get("/newsList.do").param("page", "1"))
                 .andExpect(status().isOk())
@@ -143,7 +143,7 @@ class AdminNewsControllerTest {
                 .andExpect(jsonPath("$[0].title").value(news.getTitle()))
                 .andExpect(jsonPath("$[0].content").value(news.getContent()));
 
-        verify(newsService, times(1)).findAll(expectedPageable);
+        verify(newsService, times(1)).findSlice(expectedPageable);
     }
 
     @Test
@@ -155,13 +155,13 @@ class AdminNewsControllerTest {
     @Test
     void testNewsList_defaultPage() throws Exception {
         Pageable defaultPageable = PageRequest.of(0, 10, Sort.by("time").descending());
-        when(newsService.findAll(defaultPageable)).thenReturn(new PageImpl<>(Collections.emptyList()));
+        when(newsService.findSlice(defaultPageable)).thenReturn(new SliceImpl<>(Collections.emptyList()));
 
         mockMvc.perform(get("/newsList.do"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(newsService).findAll(defaultPageable);
+        verify(newsService).findSlice(defaultPageable);
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.demo.entity.Order;
 import com.demo.entity.vo.OrderVo;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
+import com.demo.service.VenueService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -12,17 +13,24 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.ui.Model;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.demo.service.OrderService.STATE_WAIT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 public class AdminOrderControllerTest {
@@ -35,6 +43,9 @@ public class AdminOrderControllerTest {
     @Mock
     OrderVoService orderVoService;
 
+    @Mock
+    VenueService venueService;
+
     @Mock
     Model model;
 
@@ -46,27 +57,56 @@ public class AdminOrderControllerTest {
     // 正常返回
     @Test
     void testReservationManage() {
-        List<Order> orders = new ArrayList<Order>();
-        List<OrderVo> orderVos = new ArrayList<OrderVo>();
-        Page<Order> orderPage = mock(Page.class);
-        when(orderService.findAuditOrder()).thenReturn(orders);
-        when(orderVoService.returnVo(orders)).thenReturn(orderVos);
-        when(orderService.findNoAuditOrder(any(Pageable.class))).thenReturn(orderPage);
-        when(orderPage.getTotalPages()).thenReturn(1);
+        when(orderService.countNoAuditOrder()).thenReturn(10L);
 
         String result = adminOrderController.reservation_manage(model);
         assertEquals("admin/reservation_manage", result);
 
         // 验证模拟的 Model 对象是否按预期添加了属性
-        verify(model).addAttribute(eq("order_list"), eq(orderVos));
+        verify(model).addAttribute(eq("venue_list"), anyList());
         verify(model).addAttribute(eq("total"), eq(1));
+        // 总页数读计数器，不再分页查库
+        verify(orderService, never()).findNoAuditOrder(any(Pageable.class));
+        verify(model, never()).addAttribute(eq("order_list"), any());
+        verify(orderVoService, never()).returnVo(anyList());
+    }
+
+    // 已审核订单分页筛选
+    @Test
+    void testGetAuditOrder() {
+        List<Order> orders = new ArrayList<Order>();
+        orders.add(new Order());
+        List<OrderVo> orderVos = new ArrayList<OrderVo>();
+        orderVos.add(new OrderVo());
+        when(orderService.findAuditOrder(eq(2), eq("test"), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<Order>(orders, PageRequest.of(0, 10), 11));
+        when(orderVoService.returnVo(orders)).thenReturn(orderVos);
+
+        Page<OrderVo> result = adminOrderController.getAuditOrder(1, 2, "test", "2024-01-01", "2024-01-31", "total", true);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(2, result.getTotalPages());
+        verify(orderService).findAuditOrder(eq(2), eq("test"),
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(LocalDateTime.of(2024, 2, 1, 0, 0)),
+                argThat(p -> p.getSort().getOrderFor("total").isAscending()));
+    }
+
+    // 非法排序字段回退到下单时间
+    @Test
+    void testGetAuditOrderInvalidSort() {
+        when(orderService.findAuditOrder(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(new PageImpl<Order>(new ArrayList<Order>()));
+
+        adminOrderController.getAuditOrder(1, null, null, null, null, "password", false);
+
+        verify(orderService).findAuditOrder(isNull(), isNull(), isNull(), isNull(),
+                argThat(p -> p.getSort().getOrderFor("orderTime") != null && p.getSort().getOrderFor("password") == null));
     }
 
     // 正常返回
     @Test
     void testGetNoAuditOrder() {
-        when(orderService.findNoAuditOrder(any(Pageable.class))).thenReturn(new PageImpl<Order>(new ArrayList<Order>()));
-        when(orderVoService.returnVo(anyList())).thenReturn(new ArrayList<OrderVo>());
+        when(orderVoService.findNoAuditOrderVoSlice(any(Pageable.class))).thenReturn(new SliceImpl<OrderVo>(new ArrayList<OrderVo>()));
         List<OrderVo> result = adminOrderController.getNoAuditOrder(1);
         assertNotNull(result);
     }
@@ -74,8 +114,7 @@ public class AdminOrderControllerTest {
     // page参数为负数（当前存在错误）
     @Test
     void testGetNoAuditOrderNegativePage() {
-        when(orderService.findNoAuditOrder(any(Pageable.class))).thenReturn(new PageImpl<Order>(new ArrayList<Order>()));
-        when(orderVoService.returnVo(anyList())).thenReturn(new ArrayList<OrderVo>());
+        when(orderVoService.findNoAuditOrderVoSlice(any(Pageable.class))).thenReturn(new SliceImpl<OrderVo>(new ArrayList<OrderVo>()));
         try {
             List<OrderVo> result = adminOrderController.getNoAuditOrder(-1);
         } catch (Exception e) {
@@ -86,12 +125,11 @@ public class AdminOrderControllerTest {
     // page参数大于总页数（当前存在错误）
     @Test
     void testGetNoAuditOrderPageExceed() {
-        when(orderService.findNoAuditOrder(any(Pageable.class))).thenReturn(null);
-        when(orderVoService.returnVo(anyList())).thenReturn(new ArrayList<OrderVo>());
+        when(orderVoService.findNoAuditOrderVoSlice(any(Pageable.class))).thenReturn(null);
         try {
             List<OrderVo> result = adminOrderController.getNoAuditOrder(2);
         } catch (Exception e) {
-            assert e.getMessage().equals("Cannot invoke \"org.springframework.data.domain.Page.getContent()\" because the return value of \"com.demo.service.OrderService.findNoAuditOrder(org.springframework.data.domain.Pageable)\" is null");
+            assert e.getMessage().equals("Cannot invoke \"org.springframework.data.domain.Slice.getContent()\" because the return value of \"com.demo.service.OrderVoService.findNoAuditOrderVoSlice(org.springframework.data.domain.Pageable)\" is null");
         }
     }
 
@@ -162,12 +200,18 @@ public class AdminOrderControllerTest {
             assert e.getMessage().equals("订单状态不为待审核");
         }
     }
-}
-
-
-
-
-
-
-
 
+    // 批量审核返回每个订单的处理结果
+    @Test
+    void testBatchAuditOrder() {
+        List<Integer> orderIDs = Arrays.asList(1, 2);
+        Map<Integer, Boolean> outcome = new LinkedHashMap<>();
+        outcome.put(1, true);
+        outcome.put(2, false);
+        when(orderService.auditOrders(orderIDs, STATE_WAIT)).thenReturn(outcome);
+
+        Map<Integer, Boolean> result = adminOrderController.batchAuditOrder(orderIDs, STATE_WAIT);
+        assertEquals(outcome, result);
+        verify(orderService).auditOrders(orderIDs, STATE_WAIT);
+    }
+}
@@ -65,8 +65,8 @@ public class AdminUserControllerTest {
     @Test
     public void testUserList() throws Exception {
         Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
-        Page<User> page = new PageImpl<>(Collections.singletonList(sampleUser), pageable, 1);
-        Mockito.when(userService.findByUserID(pageable)).thenReturn(page);
+        Slice<User> slice = new SliceImpl<>(Collections.singletonList(sampleUser), pageable, false);
+        Mockito.when(userService.findUserSlice(pageable)).thenReturn(slice);
 
         mockMvc.perform(get("/userList.do?page=1"))
                 .andExpect(status().isOk())
@@ -1,6 +1,9 @@
 package com.demo.controller.admin;
 
+import com.demo.config.ExecutorConfig;
 import com.demo.entity.Venue;
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.UploadService;
 import com.demo.service.VenueService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,21 +11,26 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AdminVenueController.class)
+@Import(ExecutorConfig.class)
 public class AdminVenueControllerTest {
 
     @Autowired
@@ -31,6 +39,9 @@ public class AdminVenueControllerTest {
     @MockBean
     private VenueService venueService;
 
+    @MockBean
+    private UploadService uploadService;
+
     private Venue sampleVenue;
 
     @BeforeEach
@@ -46,6 +57,14 @@ public class AdminVenueControllerTest {
         sampleVenue.setClose_time("20:00");
     }
 
+    private UploadForm form(String... nameValues) {
+        UploadForm form = new UploadForm();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            form.getFields().put(nameValues[i], nameValues[i + 1]);
+        }
+        return form;
+    }
+
     @Test
     void testVenueManagePage() throws Exception {
         Page<Venue> page = new PageImpl<>(Collections.singletonList(sampleVenue));
@@ -76,8 +95,8 @@ public class AdminVenueControllerTest {
 
     @Test
     void testGetVenueList() throws Exception {
-        Page<Venue> page = new PageImpl<>(Arrays.asList(sampleVenue));
-        when(venueService.findAll(any(Pageable.class))).thenReturn(page);
+        Slice<Venue> slice = new SliceImpl<>(Arrays.asList(sampleVenue));
+        when(venueService.findSlice(any(Pageable.class))).thenReturn(slice);
 
         mockMvc.perform(get("/venueList.do?page=1"))
                 .andExpect(status().isOk())
@@ -87,10 +106,13 @@ public class AdminVenueControllerTest {
     @Test
     void testAddVenue() throws Exception {
         when(venueService.create(any(Venue.class))).thenReturn(1);
+        when(uploadService.read(any(), eq("venue"))).thenReturn(form("venueName", "Test Venue", "address", "Test Address",
+                "description", "Test Description", "price", "100", "open_time", "08:00", "close_time", "20:00"));
 
         MockMultipartFile file = new MockMultipartFile("picture", "", "image/jpeg", new byte[0]);
 
-        mockMvc.perform(multipart("/addVenue.do")
+        // 上传在异步请求里处理，先确认异步开始，再取分派后的结果
+        MvcResult result = mockMvc.perform(multipart("/addVenue.do")
                         .file(file)
                         .param("venueName", "Test Venue")
                         .param("address", "Test Address")
@@ -98,6 +120,10 @@ public class AdminVenueControllerTest {
                         .param("price", "100")
                         .param("open_time", "08:00")
                         .param("close_time", "20:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("venue_manage"));
     }
@@ -105,10 +131,13 @@ public class AdminVenueControllerTest {
     @Test
     void testModifyVenue() throws Exception {
         when(venueService.findByVenueID(1)).thenReturn(sampleVenue);
+        when(uploadService.read(any(), eq("venue"))).thenReturn(form("venueID", "1", "venueName", "Updated Venue",
+                "address", "Updated Address", "description", "Updated Description", "price", "200",
+                "open_time", "09:00", "close_time", "22:00"));
 
         MockMultipartFile file = new MockMultipartFile("picture", "", "image/jpeg", new byte[0]);
 
-        mockMvc.perform(multipart("/modifyVenue.do")
+        MvcResult result = mockMvc.perform(multipart("/modifyVenue.do")
                         .file(file)
                         .param("venueID", "1")
                         .param("venueName", "Updated Venue")
@@ -117,8 +146,14 @@ public class AdminVenueControllerTest {
                         .param("price", "200")
                         .param("open_time", "09:00")
                         .param("close_time", "22:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("venue_manage"));
+        assertEquals("Updated Venue", sampleVenue.getVenueName());
+        assertEquals(200, sampleVenue.getPrice());
     }
 
     @Test
@@ -54,25 +54,19 @@ class MessageControllerTest {
 
     @Test
     void testMessageListPage_authenticated_OK() throws Exception {
-        Pageable pageable = PageRequest.of(0, 5, Sort.by("time").descending());
-        Page<Message> page = new PageImpl<>(Collections.singletonList(message), pageable, 1);
-
-        when(messageService.findPassState(pageable)).thenReturn(page);
-        when(messageVoService.returnVo(anyList())).thenReturn(Collections.singletonList(messageVo));
-        when(messageService.findByUser(eq(user.getUserID()), any(Pageable.class))).thenReturn(page);
+        when(messageService.countPassState()).thenReturn(6L);
+        when(messageService.countByUser(user.getUserID())).thenReturn(5L);
 
         mockMvc.perform(get("/message_list").session(session))
                 .andExpect(status().isOk())
                 .andExpect(view().name("message_list"))
-                .andExpect(model().attributeExists("total"))
-                .andExpect(model().attributeExists("user_total"));
+                .andExpect(model().attribute("total", 2))
+                .andExpect(model().attribute("user_total", 1));
+        verify(messageService, never()).findPassState(any(Pageable.class));
     }
 
     @Test
     void testMessageListPage_notLoggedIn_throwsLoginException() {
-        Pageable pageable = PageRequest.of(0, 5, Sort.by("time").descending());
-        when(messageService.findPassState(pageable)).thenReturn(new PageImpl<>(Collections.emptyList()));
-
         assertThatThrownBy(() -> mockMvc.perform(get("/message_list")))
                 .hasCauseInstanceOf(com.demo.exception.LoginException.class)
                 .hasMessageContaining("请登录");
@@ -81,9 +75,9 @@ class MessageControllerTest {
     @Test
     void testGetMessageList_OK() throws Exception {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("time").descending());
-        Page<Message> page = new PageImpl<>(Collections.singletonList(message), pageable, 1);
+        Slice<Message> slice = new SliceImpl<>(Collections.singletonList(message), pageable, false);
 
-        when(messageService.findPassState(pageable)).thenReturn(page);
+        when(messageService.findPassStateSlice(pageable)).thenReturn(slice);
         when(messageVoService.returnVo(anyList())).thenReturn(Collections.singletonList(messageVo));
 
         mockMvc.perform(get("/message/getMessageList").param("page", "1"))
@@ -95,9 +89,9 @@ class MessageControllerTest {
     @Test
     void testFindUserList_OK() throws Exception {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("time").descending());
-        Page<Message> page = new PageImpl<>(Collections.singletonList(message), pageable, 1);
+        Slice<Message> slice = new SliceImpl<>(Collections.singletonList(message), pageable, false);
 
-        when(messageService.findByUser(eq(user.getUserID()), eq(pageable))).thenReturn(page);
+        when(messageService.findSliceByUser(eq(user.getUserID()), eq(pageable))).thenReturn(slice);
         when(messageVoService.returnVo(anyList())).thenReturn(Collections.singletonList(messageVo));
 
         mockMvc.perform(get("/message/findUserList").param("page", "1").session(session))
@@ -1,6 +1,8 @@
 package com.demo.controller.user;
 
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.exception.InvalidCursorException;
 import com.demo.service.NewsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -54,12 +56,15 @@ public class NewsControllerTest {
     void testNewsListJson_shouldReturnPageJson() throws Exception {
         List<News> newsList = Collections.singletonList(sampleNews);
         Pageable pageable = PageRequest.of(0, 5, Sort.by("time").descending());
-        Page<News> newsPage = new PageImpl<>(newsList, pageable, 1);
-        Mockito.when(newsService.findAll(any(Pageable.class))).thenReturn(newsPage);
+        Slice<News> newsSlice = new SliceImpl<>(newsList, pageable, true);
+        Mockito.when(newsService.findSlice(any(Pageable.class))).thenReturn(newsSlice);
 
         mockMvc.perform(get("/news/getNewsList").param("page", "1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").isArray());
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        Mockito.verify(newsService, Mockito.never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -74,4 +79,26 @@ public class NewsControllerTest {
                 .andExpect(model().attributeExists("news_list"))
                 .andExpect(model().attributeExists("total"));
     }
+
+    @Test
+    void testNewsListCursor_shouldReturnCursorPage() throws Exception {
+        CursorPage<News> page = new CursorPage<>(Collections.singletonList(sampleNews), "next");
+        Mockito.when(newsService.findAll(eq(""), eq(5))).thenReturn(page);
+
+        mockMvc.perform(get("/news/getNewsList").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        Mockito.verify(newsService, Mockito.never()).findAll(any(Pageable.class));
+    }
+
+    // 游标被篡改时返回 400，而不是 500
+    @Test
+    void testNewsListCursor_InvalidCursor() throws Exception {
+        Mockito.when(newsService.findAll(eq("bad"), eq(5))).thenThrow(new InvalidCursorException("无效的分页游标"));
+
+        mockMvc.perform(get("/news/getNewsList").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
 }
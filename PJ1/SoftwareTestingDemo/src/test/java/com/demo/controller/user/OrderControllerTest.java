@@ -4,11 +4,11 @@ import com.demo.entity.Order;
 import com.demo.entity.User;
 import com.demo.entity.Venue;
 import com.demo.entity.vo.OrderVo;
-import com.demo.entity.vo.VenueOrder;
 import com.demo.exception.LoginException;
 import com.demo.service.OrderService;
 import com.demo.service.OrderVoService;
 import com.demo.service.VenueService;
+import com.demo.service.VenueSlotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -45,6 +45,9 @@ public class OrderControllerTest {
     @MockBean
     private VenueService venueService;
 
+    @MockBean
+    private VenueSlotService venueSlotService;
+
     private MockHttpSession session;
     private User mockUser;
 
@@ -58,14 +61,13 @@ public class OrderControllerTest {
 
     @Test
     void testOrderManage_shouldReturnViewAndModel() throws Exception {
-        Pageable pageable = PageRequest.of(0, 5, Sort.by("orderTime").descending());
-        Page<Order> page = new PageImpl<>(Collections.emptyList(), pageable, 0);
-        Mockito.when(orderService.findUserOrder(eq("test_user"), any(Pageable.class))).thenReturn(page);
+        Mockito.when(orderService.countUserOrder("test_user")).thenReturn(5L);
 
         mockMvc.perform(get("/order_manage").session(session))
                 .andExpect(status().isOk())
-                .andExpect(model().attributeExists("total"))
+                .andExpect(model().attribute("total", 1))
                 .andExpect(view().name("order_manage"));
+        Mockito.verify(orderService, Mockito.never()).findUserOrder(anyString(), any(Pageable.class));
     }
 
 
@@ -82,18 +84,15 @@ public class OrderControllerTest {
 
     @Test
     void testGetOrderList_shouldReturnJsonArray() throws Exception {
-        Order mockOrder = new Order();
-        List<OrderVo> mockVoList = Arrays.asList(new OrderVo()); // 修改这里
-        Page<Order> mockPage = new PageImpl<>(Arrays.asList(mockOrder)); // 修改这里
-
-        session.setAttribute("user", mockOrder); // 确保 session 中有用户对象，具体应为 User 实例
+        Slice<OrderVo> mockSlice = new SliceImpl<>(Arrays.asList(new OrderVo()));
 
-        Mockito.when(orderService.findUserOrder(eq("test_user"), any(Pageable.class))).thenReturn(mockPage);
-        Mockito.when(orderVoService.returnVo(anyList())).thenReturn(mockVoList);
+        Mockito.when(orderVoService.findUserOrderVoSlice(eq("test_user"), any(Pageable.class))).thenReturn(mockSlice);
 
         mockMvc.perform(get("/getOrderList.do?page=1").session(session))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
+
+        Mockito.verify(orderVoService, Mockito.never()).returnVo(anyList());
     }
 
     @Test
@@ -120,9 +119,7 @@ public class OrderControllerTest {
         Venue venue = new Venue();
         venue.setVenueID(1);
         Mockito.when(venueService.findByVenueName("test")).thenReturn(venue);
-        List<Order> orders = new ArrayList<>();
-        orders.add(new Order());
-        Mockito.when(orderService.findDateOrder(anyInt(), any(), any())).thenReturn(orders);
+        Mockito.when(venueSlotService.findOccupiedHours(eq(1), any(), eq(0))).thenReturn(Arrays.asList(9, 10));
 
 
         mockMvc.perform(get("/order/getOrderList.do")
@@ -130,7 +127,62 @@ public class OrderControllerTest {
                         .param("date", "2024-01-01"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.venue").exists())
-                .andExpect(jsonPath("$.orders").isArray());
+                .andExpect(jsonPath("$.occupied").isArray())
+                .andExpect(jsonPath("$.occupied[0]").value(9));
+
+        Mockito.verify(orderService, Mockito.never()).findDateOrder(anyInt(), any(), any());
+    }
+
+    @Test
+    void testGetVenueOrder_withOrderID_shouldExcludeOrder() throws Exception {
+        Venue venue = new Venue();
+        venue.setVenueID(1);
+        Mockito.when(venueService.findByVenueName("test")).thenReturn(venue);
+        Mockito.when(orderService.belongsTo(5, "test_user")).thenReturn(true);
+        Mockito.when(venueSlotService.findOccupiedHours(eq(1), any(), eq(5))).thenReturn(new ArrayList<>());
+
+        mockMvc.perform(get("/order/getOrderList.do")
+                        .param("venueName", "test")
+                        .param("date", "2024-01-01")
+                        .param("orderID", "5")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupied").isEmpty());
+    }
+
+    // 别人的订单不能被排除
+    @Test
+    void testGetVenueOrder_otherUsersOrder_notExcluded() throws Exception {
+        Venue venue = new Venue();
+        venue.setVenueID(1);
+        Mockito.when(venueService.findByVenueName("test")).thenReturn(venue);
+        Mockito.when(orderService.belongsTo(5, "test_user")).thenReturn(false);
+        Mockito.when(venueSlotService.findOccupiedHours(eq(1), any(), eq(0))).thenReturn(Arrays.asList(9, 10));
+
+        mockMvc.perform(get("/order/getOrderList.do")
+                        .param("venueName", "test")
+                        .param("date", "2024-01-01")
+                        .param("orderID", "5")
+                        .session(session))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupied[0]").value(9));
+        Mockito.verify(venueSlotService, Mockito.never()).findOccupiedHours(anyInt(), any(), eq(5));
+    }
+
+    @Test
+    void testGetVenueOrder_badDate_badRequest() throws Exception {
+        mockMvc.perform(get("/order/getOrderList.do")
+                        .param("venueName", "test")
+                        .param("date", "2024-13-45"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetVenueOrder_unknownVenue_notFound() throws Exception {
+        mockMvc.perform(get("/order/getOrderList.do")
+                        .param("venueName", "nope")
+                        .param("date", "2024-01-01"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
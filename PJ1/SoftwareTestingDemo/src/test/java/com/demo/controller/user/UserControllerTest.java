@@ -1,14 +1,19 @@
 package com.demo.controller.user;
 
+import com.demo.config.ExecutorConfig;
 import com.demo.entity.User;
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.UploadService;
 import com.demo.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.servlet.http.HttpSession;
@@ -18,6 +23,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import(ExecutorConfig.class)
 class UserControllerTest {
 
     @Autowired
@@ -26,6 +32,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UploadService uploadService;
+
     private User user;
 
     @BeforeEach
@@ -93,16 +102,29 @@ class UserControllerTest {
     void testUpdateUser_shouldRedirectToUserInfo() throws Exception {
         MockMultipartFile mockPicture = new MockMultipartFile("picture", "", "image/jpeg", new byte[0]);
         Mockito.when(userService.findByUserID("testuser")).thenReturn(user);
-
-        mockMvc.perform(multipart("/updateUser.do")
+        UploadForm form = new UploadForm();
+        form.getFields().put("userID", "testuser");
+        form.getFields().put("userName", "newName");
+        form.getFields().put("passwordNew", "newpass");
+        form.getFields().put("email", "new@example.com");
+        form.getFields().put("phone", "111111111");
+        Mockito.when(uploadService.read(any(), eq("user"))).thenReturn(form);
+
+        // 上传在异步请求里处理，先确认异步开始，再取分派后的结果
+        MvcResult result = mockMvc.perform(multipart("/updateUser.do")
                         .file(mockPicture)
                         .param("userID", "testuser")
                         .param("userName", "newName")
                         .param("passwordNew", "newpass")
                         .param("email", "new@example.com")
                         .param("phone", "111111111"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("user_info"));
+        Mockito.verify(userService).updateUser(user);
     }
 
     @Test
@@ -55,14 +55,18 @@ public class VenueControllerTest {
     void testVenueListApi_shouldReturnPagedVenueJson() throws Exception {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("venueID").ascending());
         List<Venue> venueList = Collections.singletonList(mockVenue);
-        Page<Venue> venuePage = new PageImpl<>(venueList, pageable, 1);
+        Slice<Venue> venueSlice = new SliceImpl<>(venueList, pageable, false);
 
-        when(venueService.findAll(any(Pageable.class))).thenReturn(venuePage);
+        when(venueService.findSlice(any(Pageable.class))).thenReturn(venueSlice);
 
         mockMvc.perform(get("/venuelist/getVenueList").param("page", "1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content", hasSize(1)))
-                .andExpect(jsonPath("$.content[0].venueID").value(1));
+                .andExpect(jsonPath("$.content[0].venueID").value(1))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        // JSON 接口不再统计总数
+        Mockito.verify(venueService, Mockito.never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -0,0 +1,53 @@
+package com.demo.filter;
+
+import com.demo.utils.RequestTiming;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/index");
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // 第一次写出之前加上头，之后的耗时只进访问日志
+    @Test
+    void testHeaderBeforeFirstWrite() throws Exception {
+        new ServerTimingFilter(true).doFilter(request, response, (req, res) -> {
+            RequestTiming.enter(RequestTiming.DB);
+            RequestTiming.exit(RequestTiming.DB);
+            assertNull(response.getHeader(ServerTimingFilter.HEADER));
+            res.getWriter().write("<html>");
+            assertTrue(response.getHeader(ServerTimingFilter.HEADER).startsWith("db;dur="));
+            RequestTiming.enter(RequestTiming.VIEW);
+            RequestTiming.exit(RequestTiming.VIEW);
+        });
+
+        assertFalse(response.getHeader(ServerTimingFilter.HEADER).contains("view"));
+        assertTrue(((String) request.getAttribute(ServerTimingFilter.ATTRIBUTE)).contains("view;dur="));
+        assertEquals("<html>", response.getContentAsString());
+        assertNull(RequestTiming.current());
+    }
+
+    // 没有响应体的请求（重定向）也有头
+    @Test
+    void testHeaderWithoutBody() throws Exception {
+        new ServerTimingFilter(true).doFilter(request, response, (req, res) -> ((HttpServletResponse) res).sendRedirect("login"));
+
+        assertEquals("login", response.getRedirectedUrl());
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).startsWith("total;dur="));
+    }
+
+    @Test
+    void testHeaderDisabled() throws Exception {
+        new ServerTimingFilter(false).doFilter(request, response, (req, res) -> res.getOutputStream().write(1));
+
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+        assertNotNull(request.getAttribute(ServerTimingFilter.ATTRIBUTE));
+    }
+}
@@ -0,0 +1,104 @@
+package com.demo.service.impl;
+
+import com.demo.dao.CounterDao;
+import com.demo.dao.MessageDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.Counter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static com.demo.service.CounterService.MESSAGE;
+import static com.demo.service.CounterService.ORDER;
+import static com.demo.service.OrderService.STATE_NO_AUDIT;
+import static com.demo.service.OrderService.STATE_WAIT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CounterServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private MessageDao messageDao;
+
+    @Mock
+    private CounterDao counterDao;
+
+    @InjectMocks
+    private CounterServiceImpl counterService;
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+
+    // 直接读计数表，没有的计数为0
+    @Test
+    void testCount() {
+        when(counterDao.findById("order:state:1")).thenReturn(Optional.of(new Counter("order:state:1", 3)));
+        when(counterDao.findById("order:user:nobody")).thenReturn(Optional.empty());
+
+        assertEquals(3, counterService.countByState(ORDER, STATE_NO_AUDIT));
+        assertEquals(0, counterService.countByUser(ORDER, "nobody"));
+    }
+
+    // 新建、状态变化和删除都在计数表里原子增减
+    @Test
+    void testCreatedChangedDeleted() {
+        counterService.created(ORDER, "user3", STATE_NO_AUDIT);
+        verify(counterDao).add("order:state:1", 1);
+        verify(counterDao).add("order:user:user3", 1);
+
+        counterService.stateChanged(ORDER, STATE_NO_AUDIT, STATE_WAIT, 2);
+        verify(counterDao).add("order:state:1", -2);
+        verify(counterDao).add("order:state:2", 2);
+
+        counterService.deleted(MESSAGE, "user3", STATE_WAIT);
+        verify(counterDao).add("message:state:2", -1);
+        verify(counterDao).add("message:user:user3", -1);
+    }
+
+    // 重新统计覆盖原有计数
+    @Test
+    void testReconcile() {
+        when(orderDao.countGroupByState()).thenReturn(rows(new Object[]{STATE_NO_AUDIT, 3L}, new Object[]{STATE_WAIT, 2L}));
+        when(orderDao.countGroupByUserID()).thenReturn(rows(new Object[]{"user1", 4L}, new Object[]{null, 1L}));
+        when(messageDao.countGroupByState()).thenReturn(Collections.emptyList());
+        when(messageDao.countGroupByUserID()).thenReturn(Collections.emptyList());
+
+        counterService.reconcile();
+
+        verify(counterDao).deleteByNameLike("order:%");
+        verify(counterDao).deleteByNameLike("message:%");
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Counter>> saved = ArgumentCaptor.forClass(List.class);
+        verify(counterDao).saveAll(saved.capture());
+        assertEquals(Arrays.asList(new Counter("order:state:1", 3), new Counter("order:state:2", 2),
+                new Counter("order:user:user1", 4)), saved.getValue());
+    }
+
+    // 状态没变不计数
+    @Test
+    void testStateChanged_SameState() {
+        counterService.stateChanged(ORDER, STATE_WAIT, STATE_WAIT, 1);
+        verify(counterDao, never()).add(anyString(), anyLong());
+    }
+
+    @Test
+    void testUnknownType() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> counterService.countByState("venue", 1));
+        assertEquals("未知的计数类型：venue", e.getMessage());
+    }
+}
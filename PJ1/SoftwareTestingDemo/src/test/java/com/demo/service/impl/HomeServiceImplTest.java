@@ -0,0 +1,160 @@
+package com.demo.service.impl;
+
+import com.demo.entity.Message;
+import com.demo.entity.News;
+import com.demo.entity.Venue;
+import com.demo.entity.vo.HomeVo;
+import com.demo.entity.vo.MessageVo;
+import com.demo.service.MessageService;
+import com.demo.service.MessageVoService;
+import com.demo.service.NewsService;
+import com.demo.service.VenueService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeServiceImplTest {
+
+    @Mock
+    private VenueService venueService;
+
+    @Mock
+    private NewsService newsService;
+
+    @Mock
+    private MessageService messageService;
+
+    @Mock
+    private MessageVoService messageVoService;
+
+    @Mock
+    private PageCache pageCache;
+
+    @Mock
+    private ExecutorService executor;
+
+    @InjectMocks
+    private HomeServiceImpl homeService;
+
+    private final List<Venue> venueList = Arrays.asList(new Venue());
+
+    @BeforeEach
+    void setUp() {
+        homeService.executor = executor;
+        homeService.queryExecutor = Runnable::run;
+        homeService.ttl = 30000;
+        homeService.timeout = 2000;
+        when(venueService.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(venueList));
+        when(newsService.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.<News>emptyList()));
+        when(messageService.findPassState(any(Pageable.class))).thenReturn(new PageImpl<>(Collections.<Message>emptyList()));
+        when(messageVoService.returnVo(any())).thenReturn(Collections.<MessageVo>emptyList());
+    }
+
+    // 第一次没有快照，在请求线程里查询
+    @Test
+    void testGetHome_FirstLoad() {
+        HomeVo home = homeService.getHome();
+
+        assertEquals(venueList, home.getVenueList());
+        verify(executor, never()).execute(any());
+    }
+
+    // 没过期直接返回快照，不再查询
+    @Test
+    void testGetHome_Fresh() {
+        HomeVo first = homeService.getHome();
+        HomeVo second = homeService.getHome();
+
+        assertSame(first, second);
+        verify(venueService, times(1)).findAll(any(Pageable.class));
+        verify(executor, never()).execute(any());
+    }
+
+    // 数据修改后过期：返回旧快照，只提交一个后台刷新
+    @Test
+    void testGetHome_StaleRefreshesOnce() {
+        HomeVo first = homeService.getHome();
+        when(pageCache.dataVersion()).thenReturn(1L);
+
+        assertSame(first, homeService.getHome());
+        assertSame(first, homeService.getHome());
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(1)).execute(refresh.capture());
+
+        refresh.getValue().run();
+        HomeVo refreshed = homeService.getHome();
+        assertNotSame(first, refreshed);
+        verify(venueService, times(2)).findAll(any(Pageable.class));
+        verify(pageCache).evict(PageCache.HOME);
+    }
+
+    // 后台刷新失败后保留旧快照，下一次请求可以重新发起刷新
+    @Test
+    void testGetHome_RefreshFailsKeepsSnapshot() {
+        HomeVo first = homeService.getHome();
+        when(pageCache.dataVersion()).thenReturn(1L);
+        when(venueService.findAll(any(Pageable.class))).thenThrow(new RuntimeException("数据库不可用"));
+
+        homeService.getHome();
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(refresh.capture());
+        assertDoesNotThrow(() -> refresh.getValue().run());
+
+        assertSame(first, homeService.getHome());
+        verify(executor, times(2)).execute(any());
+        verify(pageCache, never()).evict(any());
+    }
+
+    // 后台刷新超过截止时间，整体放弃，其余还在排队的查询被取消
+    @Test
+    void testGetHome_RefreshTimeoutCancelsQueries() {
+        HomeVo first = homeService.getHome();
+        List<Runnable> queued = new ArrayList<>();
+        homeService.queryExecutor = queued::add;
+        homeService.timeout = 10;
+        when(pageCache.dataVersion()).thenReturn(1L);
+
+        homeService.getHome();
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).execute(refresh.capture());
+        assertDoesNotThrow(() -> refresh.getValue().run());
+
+        queued.forEach(Runnable::run);
+        verify(venueService, times(1)).findAll(any(Pageable.class));
+        verify(newsService, times(1)).findAll(any(Pageable.class));
+        verify(messageService, times(1)).findPassState(any(Pageable.class));
+        assertSame(first, homeService.getHome());
+    }
+
+    // 第一次加载没有旧快照兜底，不受截止时间限制
+    @Test
+    void testGetHome_FirstLoadWaits() throws Exception {
+        homeService.timeout = 10;
+        homeService.queryExecutor = task -> new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ignored) {
+            }
+            task.run();
+        }).start();
+
+        assertEquals(venueList, homeService.getHome().getVenueList());
+    }
+}
@@ -2,6 +2,9 @@ package com.demo.service.impl;
 
 import com.demo.dao.MessageDao;
 import com.demo.entity.Message;
+import com.demo.entity.vo.CursorPage;
+import com.demo.service.CounterService;
+import com.demo.utils.KeysetCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,7 +14,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,6 +34,12 @@ class MessageServiceImplTest {
     @Mock
     private MessageDao messageDao;
 
+    @Mock
+    private CounterService counterService;
+
+    @Mock
+    private PageCache pageCache;
+
     @InjectMocks
     private MessageServiceImpl messageService;
 
@@ -58,11 +70,14 @@ class MessageServiceImplTest {
     void testCreate() {
         Message message = new Message();
         message.setMessageID(5);
+        message.setUserID("user1");
+        message.setState(STATE_NO_AUDIT);
 
         when(messageDao.save(any())).thenReturn(message);
         int result = messageService.create(message);
 
         assertEquals(5, result);
+        verify(counterService).created(CounterService.MESSAGE, "user1", STATE_NO_AUDIT);
     }
 
     @Test
@@ -71,6 +86,15 @@ class MessageServiceImplTest {
         verify(messageDao).deleteById(1);
     }
 
+    @Test
+    void testDelById_CountsDeleted() {
+        Message message = new Message(3, "user1", "c", LocalDateTime.now(), STATE_PASS);
+        when(messageDao.findByMessageID(3)).thenReturn(message);
+
+        messageService.delById(3);
+        verify(counterService).deleted(CounterService.MESSAGE, "user1", STATE_PASS);
+    }
+
     @Test
     void testUpdate() {
         Message message = new Message();
@@ -80,6 +104,17 @@ class MessageServiceImplTest {
         verify(messageDao).save(message);
     }
 
+    // 修改后重新待审核，旧状态从库里读
+    @Test
+    void testUpdate_ResubmitCountsStateChange() {
+        Message message = new Message(2, "user1", "new", LocalDateTime.now(), STATE_NO_AUDIT);
+        when(messageDao.findStateByMessageID(2)).thenReturn(STATE_PASS);
+
+        messageService.update(message);
+        verify(counterService).stateChanged(CounterService.MESSAGE, STATE_PASS, STATE_NO_AUDIT, 1);
+        verify(pageCache).invalidate(PageCache.MESSAGE);
+    }
+
     @Test
     void testConfirmMessage_Success() {
         Message message = new Message();
@@ -90,6 +125,8 @@ class MessageServiceImplTest {
 
         messageService.confirmMessage(4);
         verify(messageDao).updateState(eq(STATE_PASS), eq(4));
+        verify(counterService).stateChanged(CounterService.MESSAGE, 0, STATE_PASS, 1);
+        verify(pageCache).invalidate(PageCache.MESSAGE);
     }
 
     @Test
@@ -111,6 +148,16 @@ class MessageServiceImplTest {
         verify(messageDao).updateState(eq(STATE_REJECT), eq(4));
     }
 
+    // 驳回还没通过的留言，首页没变，不用失效页面缓存
+    @Test
+    void testRejectMessage_NotPassKeepsPageCache() {
+        Message message = new Message(5, "user1", "content", LocalDateTime.now(), STATE_NO_AUDIT);
+        when(messageDao.findByMessageID(5)).thenReturn(message);
+
+        messageService.rejectMessage(5);
+        verify(pageCache, never()).invalidate(PageCache.MESSAGE);
+    }
+
     @Test
     void testRejectMessage_NotFound() {
         when(messageDao.findByMessageID(404)).thenReturn(null);
@@ -137,4 +184,28 @@ class MessageServiceImplTest {
         Page<Message> result = messageService.findPassState(pageable);
         assertNotNull(result);
     }
+
+    @Test
+    void testFindPassStateSlice() {
+        Pageable pageable = PageRequest.of(0, 5);
+        when(messageDao.findSliceByState(STATE_PASS, pageable))
+                .thenReturn(new SliceImpl<>(Arrays.asList(new Message()), pageable, true));
+
+        Slice<Message> result = messageService.findPassStateSlice(pageable);
+        assertTrue(result.hasNext());
+        // 不走带 count 的分页查询
+        verify(messageDao, never()).findAllByState(anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void testFindPassStateCursor() {
+        Message m1 = new Message(); m1.setMessageID(9); m1.setTime(LocalDateTime.of(2024, 1, 1, 12, 0));
+        LocalDateTime time = LocalDateTime.of(2024, 1, 2, 0, 0);
+        when(messageDao.findByStateBefore(STATE_PASS, time, 10, PageRequest.of(0, 6)))
+                .thenReturn(Arrays.asList(m1));
+
+        CursorPage<Message> result = messageService.findPassState(KeysetCursor.encode(time, 10), 5);
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
 }
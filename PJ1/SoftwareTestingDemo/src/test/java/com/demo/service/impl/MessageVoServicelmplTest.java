@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +33,9 @@ class MessageVoServiceImplTest {
     @Mock
     private UserDao userDao;
 
+    @Spy
+    private UserDisplayCache userDisplayCache = new UserDisplayCache();
+
     @InjectMocks
     private MessageVoServiceImpl messageVoService;
 
@@ -88,7 +95,7 @@ class MessageVoServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
-    // 字段值验证。输入一个元素的List能正确输出一个MessageVo
+    // 字段值验证。输入一个元素的List能正确输出一个MessageVo，不再按ID重新查询留言
     @Test
     void testReturnVo_OneElement() {
         Message message = new Message();
@@ -103,34 +110,86 @@ class MessageVoServiceImplTest {
         user.setUserName("Alice");
         user.setPicture("img.jpg");
 
-        when(messageDao.findByMessageID(1)).thenReturn(message);
-        when(userDao.findByUserID("user123")).thenReturn(user);
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(Collections.singletonList(user));
 
         List<MessageVo> result = messageVoService.returnVo(Arrays.asList(message));
 
         assertEquals(1, result.size());
         assertEquals("Alice", result.get(0).getUserName());
+        assertEquals("test", result.get(0).getContent());
 
-        verify(messageDao).findByMessageID(1);
-        verify(userDao).findByUserID("user123");
+        verify(messageDao, never()).findByMessageID(anyInt());
+        verify(userDao, never()).findByUserID(anyString());
     }
 
-    // 多余数据
+    // 多余数据，同一用户只查一次
     @Test
     void testReturnVo_MultipleElements() {
         Message m1 = new Message(); m1.setMessageID(1); m1.setUserID("u1");
         Message m2 = new Message(); m2.setMessageID(2); m2.setUserID("u2");
+        Message m3 = new Message(); m3.setMessageID(3); m3.setUserID("u1");
 
         User u1 = new User(); u1.setUserID("u1"); u1.setUserName("User1"); u1.setPicture("p1.png");
         User u2 = new User(); u2.setUserID("u2"); u2.setUserName("User2"); u2.setPicture("p2.png");
 
-        when(messageDao.findByMessageID(1)).thenReturn(m1);
-        when(messageDao.findByMessageID(2)).thenReturn(m2);
-        when(userDao.findByUserID("u1")).thenReturn(u1);
-        when(userDao.findByUserID("u2")).thenReturn(u2);
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(Arrays.asList(u1, u2));
 
-        List<MessageVo> result = messageVoService.returnVo(Arrays.asList(m1, m2));
-        assertEquals(2, result.size());
+        List<MessageVo> result = messageVoService.returnVo(Arrays.asList(m1, m2, m3));
+        assertEquals(3, result.size());
         assertEquals("User2", result.get(1).getUserName());
+        assertEquals("p1.png", result.get(2).getPicture());
+        verify(userDao, times(1)).findByUserIDIn(anyCollection());
+    }
+
+    // 缓存命中时不查库
+    @Test
+    void testReturnVo_CacheHit() {
+        User user = new User(); user.setId(5); user.setUserID("u1"); user.setUserName("User1");
+        userDisplayCache.put(user, userDisplayCache.generation());
+
+        Message message = new Message(); message.setMessageID(1); message.setUserID("u1");
+        List<MessageVo> result = messageVoService.returnVo(Collections.singletonList(message));
+
+        assertEquals("User1", result.get(0).getUserName());
+        verifyNoInteractions(userDao);
+    }
+
+    // 缓存失效后重新查库
+    @Test
+    void testReturnVo_AfterInvalidate() {
+        User cached = new User(); cached.setId(5); cached.setUserID("u1"); cached.setUserName("Old");
+        userDisplayCache.put(cached, userDisplayCache.generation());
+        userDisplayCache.invalidate(5);
+
+        User fresh = new User(); fresh.setId(5); fresh.setUserID("u1"); fresh.setUserName("New");
+        when(userDao.findByUserIDIn(anyCollection())).thenReturn(Collections.singletonList(fresh));
+
+        Message message = new Message(); message.setMessageID(1); message.setUserID("u1");
+        assertEquals("New", messageVoService.returnVo(Collections.singletonList(message)).get(0).getUserName());
+    }
+
+    // 查库期间用户被修改，查到的旧数据不进缓存
+    @Test
+    void testReturnVo_InvalidatedDuringLoad() {
+        User stale = new User(); stale.setId(5); stale.setUserID("u1"); stale.setUserName("Old");
+        when(userDao.findByUserIDIn(anyCollection())).thenAnswer(invocation -> {
+            userDisplayCache.invalidate(5);
+            return Collections.singletonList(stale);
+        });
+
+        Message message = new Message(); message.setMessageID(1); message.setUserID("u1");
+        assertEquals("Old", messageVoService.returnVo(Collections.singletonList(message)).get(0).getUserName());
+        assertNull(userDisplayCache.get("u1"));
+    }
+
+    // 缓存容量有上限
+    @Test
+    void testUserDisplayCache_Bounded() {
+        for (int i = 0; i < UserDisplayCache.MAX_SIZE + 10; i++) {
+            User user = new User(); user.setId(i); user.setUserID("u" + i);
+            userDisplayCache.put(user, userDisplayCache.generation());
+        }
+        assertEquals(UserDisplayCache.MAX_SIZE, userDisplayCache.size());
+        assertNull(userDisplayCache.get("u0"));
     }
 }
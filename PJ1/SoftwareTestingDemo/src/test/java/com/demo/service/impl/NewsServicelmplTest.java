@@ -2,6 +2,9 @@ package com.demo.service.impl;
 
 import com.demo.dao.NewsDao;
 import com.demo.entity.News;
+import com.demo.entity.vo.CursorPage;
+import com.demo.exception.InvalidCursorException;
+import com.demo.utils.KeysetCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,12 +14,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +33,9 @@ class NewsServiceImplTest {
     @Mock
     private NewsDao newsDao;
 
+    @Mock
+    private PageCache pageCache;
+
     @InjectMocks
     private NewsServiceImpl newsService;
 
@@ -50,6 +61,17 @@ class NewsServiceImplTest {
         assertEquals(0, result.getTotalElements());
     }
 
+    @Test
+    void testFindSlice_LastPage() {
+        Pageable pageable = PageRequest.of(1, 5);
+        when(newsDao.findSlice(pageable)).thenReturn(new SliceImpl<>(Collections.singletonList(new News()), pageable, false));
+
+        Slice<News> result = newsService.findSlice(pageable);
+        assertEquals(1, result.getNumberOfElements());
+        assertFalse(result.hasNext());
+        verify(newsDao, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void testFindById_Normal() {
         News news = new News();
@@ -144,12 +166,14 @@ class NewsServiceImplTest {
 
         newsService.update(news);
         verify(newsDao).save(news);
+        verify(pageCache).invalidate(PageCache.NEWS);
     }
 
     @Test
     void testDelById() {
         assertDoesNotThrow(() -> newsService.delById(1));
         verify(newsDao).deleteById(1);
+        verify(pageCache).invalidate(PageCache.NEWS);
     }
 
     @Test
@@ -183,4 +207,36 @@ class NewsServiceImplTest {
         RuntimeException ex = assertThrows(RuntimeException.class, () -> newsService.create(new News()));
         assertEquals("保存失败", ex.getMessage());
     }
+
+    // 游标分页第一页，多查出的一条用于生成下一页游标
+    @Test
+    void testFindAllCursor_FirstPage() {
+        News n1 = new News(); n1.setNewsID(3); n1.setTime(LocalDateTime.of(2024, 1, 3, 0, 0));
+        News n2 = new News(); n2.setNewsID(2); n2.setTime(LocalDateTime.of(2024, 1, 2, 0, 0));
+        when(newsDao.findBefore(any(LocalDateTime.class), eq(Integer.MAX_VALUE), eq(PageRequest.of(0, 2))))
+                .thenReturn(Arrays.asList(n1, n2));
+
+        CursorPage<News> result = newsService.findAll("", 1);
+        assertEquals(1, result.getContent().size());
+        assertEquals(KeysetCursor.encode(n1.getTime(), 3), result.getNextCursor());
+    }
+
+    // 按游标继续翻页，最后一页没有下一页游标
+    @Test
+    void testFindAllCursor_LastPage() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 3, 0, 0);
+        News n2 = new News(); n2.setNewsID(2); n2.setTime(LocalDateTime.of(2024, 1, 2, 0, 0));
+        when(newsDao.findBefore(time, 3, PageRequest.of(0, 6))).thenReturn(Collections.singletonList(n2));
+
+        CursorPage<News> result = newsService.findAll(KeysetCursor.encode(time, 3), 5);
+        assertEquals(1, result.getContent().size());
+        assertNull(result.getNextCursor());
+    }
+
+    // 非法游标
+    @Test
+    void testFindAllCursor_Invalid() {
+        assertThrows(InvalidCursorException.class, () -> newsService.findAll("not-a-cursor", 5));
+        verifyNoInteractions(newsDao);
+    }
 }
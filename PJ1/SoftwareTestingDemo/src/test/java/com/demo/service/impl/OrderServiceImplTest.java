@@ -0,0 +1,207 @@
+package com.demo.service.impl;
+
+import com.demo.dao.BookingSlotDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.entity.Venue;
+import com.demo.exception.BookingConflictException;
+import com.demo.service.CounterService;
+import com.demo.service.VenueSlotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.demo.service.OrderService.STATE_NO_AUDIT;
+import static com.demo.service.OrderService.STATE_REJECT;
+import static com.demo.service.OrderService.STATE_WAIT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private VenueCatalog venueCatalog;
+
+    @Mock
+    private BookingSlotDao bookingSlotDao;
+
+    @Mock
+    private VenueSlotService venueSlotService;
+
+    @Mock
+    private CounterService counterService;
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    private Venue venue() {
+        Venue venue = new Venue();
+        venue.setVenueID(3);
+        venue.setVenueName("场馆3");
+        venue.setPrice(100);
+        return venue;
+    }
+
+    // 补录时和别的订单重叠的只记日志，不影响启动
+    @Test
+    void testBackfill_ReportsOverlaps() {
+        Order order = new Order();
+        order.setOrderID(7);
+        when(orderDao.findByStartTimeGreaterThanEqualAndStateIn(any(LocalDateTime.class), anyList()))
+                .thenReturn(Collections.singletonList(order));
+        when(bookingSlotDao.backfill(anyList())).thenReturn(Collections.singletonMap(7, Collections.singletonList(3)));
+
+        assertDoesNotThrow(() -> orderService.backfillBookingSlots());
+        verify(bookingSlotDao).backfill(Collections.singletonList(order));
+    }
+
+    // 订单属于谁以数据库为准，不存在的订单不属于任何人
+    @Test
+    void testBelongsTo() {
+        Order order = new Order();
+        order.setOrderID(5);
+        order.setUserID("user");
+        when(orderDao.findByOrderID(5)).thenReturn(order);
+
+        assertTrue(orderService.belongsTo(5, "user"));
+        assertFalse(orderService.belongsTo(5, "other"));
+        assertFalse(orderService.belongsTo(6, "user"));
+    }
+
+    // 正常下单占用台账
+    @Test
+    void testSubmit_ClaimsSlots() {
+        when(venueCatalog.findByName("场馆3")).thenReturn(venue());
+
+        orderService.submit("场馆3", LocalDateTime.of(2030, 1, 1, 10, 0), 2, "user");
+
+        verify(orderDao).save(any(Order.class));
+        verify(bookingSlotDao).claim(argThat(o -> o.getVenueID() == 3 && o.getHours() == 2 && o.getTotal() == 200));
+        verify(venueSlotService).occupy(any(Order.class));
+        verify(counterService).created(CounterService.ORDER, "user", STATE_NO_AUDIT);
+    }
+
+    // 时段冲突时失败且不更新索引
+    @Test
+    void testSubmit_Conflict() {
+        when(venueCatalog.findByName("场馆3")).thenReturn(venue());
+        doThrow(new DuplicateKeyException("uk_venue_slot")).when(bookingSlotDao).claim(any(Order.class));
+
+        assertThrows(BookingConflictException.class,
+                () -> orderService.submit("场馆3", LocalDateTime.of(2030, 1, 1, 10, 0), 2, "user"));
+        verify(venueSlotService, never()).occupy(any(Order.class));
+        verify(counterService, never()).created(anyString(), anyString(), anyInt());
+    }
+
+    // 修改订单先释放旧时段
+    @Test
+    void testUpdateOrder_ReleasesThenClaims() {
+        Order order = new Order();
+        order.setOrderID(5);
+        order.setUserID("user");
+        order.setState(STATE_REJECT);
+        when(venueCatalog.findByName("场馆3")).thenReturn(venue());
+        when(orderDao.findByOrderID(5)).thenReturn(order);
+
+        orderService.updateOrder(5, "场馆3", LocalDateTime.of(2030, 1, 1, 12, 0), 1, "user");
+
+        assertEquals(STATE_NO_AUDIT, order.getState());
+        verify(bookingSlotDao).releaseByOrderID(5);
+        verify(bookingSlotDao).claim(order);
+        verify(counterService).stateChanged(CounterService.ORDER, STATE_REJECT, STATE_NO_AUDIT, 1);
+    }
+
+    // 拒绝订单释放台账
+    @Test
+    void testRejectOrder_ReleasesSlots() {
+        Order order = new Order();
+        order.setOrderID(6);
+        order.setState(STATE_NO_AUDIT);
+        when(orderDao.findByOrderID(6)).thenReturn(order);
+
+        orderService.rejectOrder(6);
+
+        verify(orderDao).updateState(STATE_REJECT, 6);
+        verify(bookingSlotDao).releaseByOrderID(6);
+        verify(venueSlotService).release(6);
+        verify(counterService).stateChanged(CounterService.ORDER, STATE_NO_AUDIT, STATE_REJECT, 1);
+    }
+
+    // 删除订单释放台账
+    @Test
+    void testDelOrder_ReleasesSlots() {
+        Order order = new Order();
+        order.setOrderID(7);
+        order.setUserID("user");
+        order.setState(STATE_WAIT);
+        when(orderDao.findByOrderID(7)).thenReturn(order);
+
+        orderService.delOrder(7);
+
+        verify(orderDao).deleteById(7);
+        verify(bookingSlotDao).releaseByOrderID(7);
+        verify(venueSlotService).release(7);
+        verify(counterService).deleted(CounterService.ORDER, "user", STATE_WAIT);
+    }
+
+    // 批量通过只更新仍未审核的订单
+    @Test
+    void testAuditOrders_Pass() {
+        when(orderDao.lockOrderIDsByState(anyCollection(), eq(STATE_NO_AUDIT))).thenReturn(Collections.singletonList(1));
+
+        Map<Integer, Boolean> result = orderService.auditOrders(Arrays.asList(1, 2), STATE_WAIT);
+
+        assertTrue(result.get(1));
+        assertFalse(result.get(2));
+        verify(orderDao).updateStateBatch(eq(STATE_WAIT), argThat(ids -> ids.size() == 1 && ids.contains(1)), eq(STATE_NO_AUDIT));
+        verify(bookingSlotDao, never()).releaseByOrderIDIn(anyCollection());
+        verify(counterService).stateChanged(CounterService.ORDER, STATE_NO_AUDIT, STATE_WAIT, 1);
+    }
+
+    // 批量驳回释放时段
+    @Test
+    void testAuditOrders_Reject() {
+        when(orderDao.lockOrderIDsByState(anyCollection(), eq(STATE_NO_AUDIT))).thenReturn(Arrays.asList(1, 2));
+
+        Map<Integer, Boolean> result = orderService.auditOrders(Arrays.asList(1, 2), STATE_REJECT);
+
+        assertEquals(2, result.size());
+        verify(bookingSlotDao).releaseByOrderIDIn(argThat(ids -> ids.containsAll(Arrays.asList(1, 2))));
+        verify(venueSlotService).release(1);
+        verify(venueSlotService).release(2);
+    }
+
+    // 都已被处理时不执行更新
+    @Test
+    void testAuditOrders_NonePending() {
+        when(orderDao.lockOrderIDsByState(anyCollection(), eq(STATE_NO_AUDIT))).thenReturn(Collections.emptyList());
+
+        Map<Integer, Boolean> result = orderService.auditOrders(Collections.singletonList(3), STATE_WAIT);
+
+        assertFalse(result.get(3));
+        verify(orderDao, never()).updateStateBatch(anyInt(), anyCollection(), anyInt());
+        verify(counterService, never()).stateChanged(anyString(), anyInt(), anyInt(), anyInt());
+    }
+
+    // 不支持的目标状态
+    @Test
+    void testAuditOrders_InvalidState() {
+        assertThrows(RuntimeException.class, () -> orderService.auditOrders(Collections.singletonList(1), 3));
+    }
+}
@@ -0,0 +1,61 @@
+package com.demo.service.impl;
+
+import com.demo.dao.OrderDao;
+import com.demo.entity.Order;
+import com.demo.entity.vo.OrderVo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderVoServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private VenueCatalog venueCatalog;
+
+    @InjectMocks
+    private OrderVoServiceImpl orderVoService;
+
+    private Order order(int orderID, int venueID) {
+        Order order = new Order();
+        order.setOrderID(orderID);
+        order.setVenueID(venueID);
+        order.setHours(2);
+        return order;
+    }
+
+    // 空列表不查询
+    @Test
+    void testReturnVo_EmptyList() {
+        assertTrue(orderVoService.returnVo(Collections.emptyList()).isEmpty());
+        verifyNoInteractions(venueCatalog, orderDao);
+    }
+
+    // 场馆名称从内存目录读取，不查库，也不再逐个查订单
+    @Test
+    void testReturnVo_NamesFromCatalog() {
+        when(venueCatalog.nameOf(1)).thenReturn("场馆1");
+        when(venueCatalog.nameOf(2)).thenReturn("场馆2");
+
+        List<OrderVo> result = orderVoService.returnVo(Arrays.asList(order(10, 1), order(11, 2), order(12, 1)));
+
+        assertEquals(3, result.size());
+        assertEquals("场馆1", result.get(0).getVenueName());
+        assertEquals("场馆2", result.get(1).getVenueName());
+        assertEquals(12, result.get(2).getOrderID());
+        verify(orderDao, never()).findByOrderID(anyInt());
+    }
+}
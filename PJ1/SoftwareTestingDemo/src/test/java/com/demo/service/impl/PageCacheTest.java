@@ -0,0 +1,83 @@
+package com.demo.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCacheTest {
+
+    private static PageCache.Page page(int size, String... tags) {
+        return new PageCache.Page(new byte[size], "text/html;charset=UTF-8", tags);
+    }
+
+    @Test
+    void testPutAndGet() {
+        PageCache cache = new PageCache(1024);
+        cache.put("/index", page(100, PageCache.VENUE), cache.generation());
+
+        assertNotNull(cache.get("/index"));
+        assertEquals(100, cache.bytes());
+    }
+
+    // 只失效依赖这个标签的页面
+    @Test
+    void testInvalidate_ByTag() {
+        PageCache cache = new PageCache(1024);
+        cache.put("/index", page(100, PageCache.VENUE, PageCache.NEWS), cache.generation());
+        cache.put("/venue_list", page(100, PageCache.VENUE), cache.generation());
+        cache.put("/news_list", page(100, PageCache.NEWS), cache.generation());
+
+        cache.invalidate(PageCache.NEWS);
+        assertNull(cache.get("/index"));
+        assertNull(cache.get("/news_list"));
+        assertNotNull(cache.get("/venue_list"));
+        assertEquals(100, cache.bytes());
+    }
+
+    // 渲染期间发生了失效，渲染出来的页面可能是旧的，不能放入
+    @Test
+    void testPut_StaleGeneration() {
+        PageCache cache = new PageCache(1024);
+        long generation = cache.generation();
+        cache.invalidate(PageCache.MESSAGE);
+
+        cache.put("/index", page(100, PageCache.MESSAGE), generation);
+        assertNull(cache.get("/index"));
+    }
+
+    // 只清页面不算数据修改
+    @Test
+    void testEvict_KeepsDataVersion() {
+        PageCache cache = new PageCache(1024);
+        cache.put("/index", page(100, PageCache.HOME), cache.generation());
+
+        cache.evict(PageCache.HOME);
+        assertNull(cache.get("/index"));
+        assertEquals(0, cache.dataVersion());
+
+        cache.invalidate(PageCache.VENUE);
+        assertEquals(1, cache.dataVersion());
+    }
+
+    // 超过上限先淘汰最早放入的
+    @Test
+    void testPut_EvictsOldest() {
+        PageCache cache = new PageCache(250);
+        cache.put("/index", page(100), cache.generation());
+        cache.put("/venue_list", page(100), cache.generation());
+        cache.put("/news_list", page(100), cache.generation());
+
+        assertNull(cache.get("/index"));
+        assertNotNull(cache.get("/venue_list"));
+        assertNotNull(cache.get("/news_list"));
+        assertEquals(200, cache.bytes());
+    }
+
+    @Test
+    void testPut_TooLarge() {
+        PageCache cache = new PageCache(50);
+        cache.put("/index", page(100), cache.generation());
+        assertNull(cache.get("/index"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.PerformanceVo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerfHistoryTest {
+
+    private final PerfHistory history = new PerfHistory();
+
+    // 记录每分钟的增量，超过一小时的槽位被覆盖
+    @Test
+    void testLastHour() {
+        long start = 1_000_000;
+        for (int i = 0; i < 70; i++) {
+            history.record(start + i, (i + 1) * 10L, 100, i * 2L, 1, 0);
+        }
+
+        List<PerformanceVo.MinuteStat> lastHour = history.lastHour(start + 69);
+        assertEquals(PerfHistory.SLOTS, lastHour.size());
+        assertEquals(10, lastHour.get(0).getRequests());
+        assertEquals(2, lastHour.get(59).getGcMillis());
+    }
+
+    // 没有记录的分钟跳过
+    @Test
+    void testGaps() {
+        history.record(100, 5, 0, 0, 0, 0);
+        history.record(102, 8, 0, 0, 0, 0);
+
+        List<PerformanceVo.MinuteStat> lastHour = history.lastHour(102);
+        assertEquals(2, lastHour.size());
+        assertEquals(5, lastHour.get(0).getRequests());
+        assertEquals(3, lastHour.get(1).getRequests());
+        assertTrue(history.lastHour(200).isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.PerformanceVo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceServiceImplTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final PageCache pageCache = new PageCache(1024);
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private PerfHistory perfHistory;
+
+    @InjectMocks
+    private PerformanceServiceImpl performanceService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(performanceService, "registry", registry);
+        ReflectionTestUtils.setField(performanceService, "pageCache", pageCache);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        Statistics statistics = mock(Statistics.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getSecondLevelCacheHitCount()).thenReturn(3L);
+        when(statistics.getSecondLevelCacheMissCount()).thenReturn(1L);
+    }
+
+    private void record(String uri, String status, long millis) {
+        Timer.builder("http.server.requests").tag("uri", uri).tag("status", status)
+                .publishPercentiles(0.99).register(registry).record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // 同一接口不同状态码的 Timer 合并，按 p99 排序
+    @Test
+    void testSnapshot_EndpointsByP99() {
+        record("/index", "200", 10);
+        record("/index", "500", 30);
+        record("/addOrder.do", "200", 300);
+        record("/news_list", "200", 1);
+
+        PerformanceVo perf = performanceService.snapshot(2);
+
+        List<PerformanceVo.TimerStat> endpoints = perf.getEndpoints();
+        assertEquals(2, endpoints.size());
+        assertEquals("/addOrder.do", endpoints.get(0).getName());
+        assertEquals("/index", endpoints.get(1).getName());
+        assertEquals(2, endpoints.get(1).getCount());
+        assertEquals(20.0, endpoints.get(1).getMean(), 0.01);
+        assertEquals(30.0, endpoints.get(1).getMax(), 0.01);
+    }
+
+    @Test
+    void testSnapshot_Caches() {
+        pageCache.get("/index");
+        pageCache.put("/index", new PageCache.Page(new byte[1], "text/html"), pageCache.generation());
+        pageCache.get("/index");
+
+        PerformanceVo perf = performanceService.snapshot(10);
+
+        assertEquals(0.5, perf.getCaches().get(0).getRatio(), 0.001);
+        assertEquals(0.75, perf.getCaches().get(1).getRatio(), 0.001);
+        assertTrue(perf.getHeapUsed() > 0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.SlowRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowRequestWatchdogTest {
+
+    private SlowRequestWatchdog watchdog;
+
+    @BeforeEach
+    void setUp() {
+        watchdog = new SlowRequestWatchdog();
+        watchdog.threshold = 0;
+        watchdog.ringSize = 2;
+        watchdog.maxStacks = 20;
+        watchdog.maxDepth = 40;
+    }
+
+    // 没采过栈的请求结束后不留记录
+    @Test
+    void testFastRequestNotRecorded() {
+        watchdog.end(watchdog.begin("GET /index", null));
+        assertTrue(watchdog.worst(10).isEmpty());
+    }
+
+    // 卡住的请求在执行中就能看到，栈合并计数
+    @Test
+    void testSamplesStuckRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            Object token = watchdog.begin("GET /reservation_manage", "admin");
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                watchdog.end(token);
+            }
+        });
+        worker.start();
+        started.await();
+        watchdog.sample();
+        watchdog.sample();
+
+        List<SlowRequest> running = watchdog.worst(10);
+        assertEquals(1, running.size());
+        assertTrue(running.get(0).isRunning());
+        assertEquals("admin", running.get(0).getUser());
+        assertEquals(2, running.get(0).getSamples());
+        assertTrue(running.get(0).getStacks().get(0).getStack().contains("SlowRequestWatchdogTest"));
+
+        release.countDown();
+        worker.join();
+        List<SlowRequest> done = watchdog.worst(10);
+        assertEquals(1, done.size());
+        assertFalse(done.get(0).isRunning());
+        assertEquals("GET /reservation_manage", done.get(0).getUri());
+    }
+
+    // 环满了丢最早的，结果按耗时从长到短
+    @Test
+    void testRingBounded() throws Exception {
+        long[] sleeps = {1, 50, 1};
+        for (int i = 0; i < 3; i++) {
+            Object token = watchdog.begin("GET /r" + i, null);
+            watchdog.sample();
+            Thread.sleep(sleeps[i]);
+            watchdog.end(token);
+        }
+
+        List<SlowRequest> worst = watchdog.worst(10);
+        assertEquals(2, worst.size());
+        assertEquals("GET /r1", worst.get(0).getUri());
+        assertEquals("GET /r2", worst.get(1).getUri());
+        assertEquals(1, watchdog.worst(1).size());
+    }
+}
@@ -0,0 +1,68 @@
+package com.demo.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailServiceImplTest {
+
+    @Mock
+    private PageCache pageCache;
+
+    @InjectMocks
+    private ThumbnailServiceImpl thumbnailService;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        thumbnailService.imageExecutor = queued::add;
+    }
+
+    // 同一张图排队中不重复提交
+    @Test
+    void testGenerate_OncePerPicture() {
+        thumbnailService.generate("file/venue/ab/cd/hash.png");
+        thumbnailService.generate("file/venue/ab/cd/hash.png");
+        assertEquals(1, queued.size());
+
+        // 原图不存在，什么也不生成，也不失效页面
+        queued.get(0).run();
+        verifyNoInteractions(pageCache);
+
+        thumbnailService.generate("file/venue/ab/cd/hash.png");
+        assertEquals(2, queued.size());
+    }
+
+    @Test
+    void testGenerate_IgnoresNonUpload() {
+        thumbnailService.generate("");
+        thumbnailService.generate(null);
+        thumbnailService.generate("venue.jpg");
+        assertTrue(queued.isEmpty());
+    }
+
+    // 线程池满了放弃，之后还能再提交
+    @Test
+    void testGenerate_Rejected() {
+        thumbnailService.imageExecutor = task -> {
+            throw new TaskRejectedException("full");
+        };
+        thumbnailService.generate("file/user/ab/cd/hash.jpg");
+
+        thumbnailService.imageExecutor = queued::add;
+        thumbnailService.generate("file/user/ab/cd/hash.jpg");
+        assertEquals(1, queued.size());
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.service.impl;
+
+import com.demo.dao.UserDao;
+import com.demo.dao.VenueDao;
+import com.demo.entity.vo.GcReport;
+import com.demo.entity.vo.PictureRef;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadGcServiceImplTest {
+
+    @Mock
+    private VenueDao venueDao;
+
+    @Mock
+    private UserDao userDao;
+
+    @InjectMocks
+    private UploadGcServiceImpl gcService;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gcService.batchSize = 2;
+        gcService.graceHours = 24;
+        gcService.filesPerSecond = 100000;
+        gcService.roots = namespace -> dir.resolve("file").resolve(namespace);
+
+        old("file/venue/aa/bb/ref.png");
+        old("file/venue/aa/bb/ref_w64.png");
+        old("file/venue/aa/bb/orphan.jpg");
+        old("file/venue/.tmp/upload1.part");
+        old("file/user/u.png");
+        old("file/user/old.png");
+        Files.write(file("file/venue/aa/bb/new.jpg"), new byte[]{1});
+    }
+
+    // 只给会走标记阶段的用例打桩
+    private void stubRefs() {
+        // 场馆分两批取完，第一批正好满一批
+        when(venueDao.findPictureRefs(eq(0), any())).thenReturn(Arrays.asList(
+                new PictureRef(1, "file/venue/aa/bb/ref.png"), new PictureRef(2, "")));
+        when(venueDao.findPictureRefs(eq(2), any())).thenReturn(Collections.singletonList(
+                new PictureRef(5, null)));
+        when(userDao.findPictureRefs(eq(0), any())).thenReturn(Collections.singletonList(
+                new PictureRef(1, "/file/user/u.png")));
+    }
+
+    private Path file(String path) throws Exception {
+        Path file = dir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return file;
+    }
+
+    // 过了宽限期的文件
+    private void old(String path) throws Exception {
+        Path file = file(path);
+        Files.write(file, new byte[]{1, 2});
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(48)));
+    }
+
+    // 试运行只统计，不删除任何文件
+    @Test
+    void testCollect_DryRun() {
+        stubRefs();
+        GcReport report = gcService.collect(true);
+
+        assertTrue(report.isDryRun());
+        assertEquals(7, report.getScanned());
+        assertEquals(3, report.getOrphans());
+        assertEquals(6, report.getOrphanBytes());
+        assertEquals(1, report.getYoung());
+        assertEquals(0, report.getDeleted());
+        assertTrue(report.getSamples().contains("file/venue/aa/bb/orphan.jpg"));
+        assertTrue(Files.exists(dir.resolve("file/venue/aa/bb/orphan.jpg")));
+        assertSame(report, gcService.lastReport());
+        verify(venueDao, times(2)).findPictureRefs(anyInt(), any());
+        verify(userDao, times(1)).findPictureRefs(anyInt(), any());
+    }
+
+    // 引用的原图和缩略图、宽限期内的文件保留，其余删除
+    @Test
+    void testCollect_DeletesOrphans() {
+        stubRefs();
+        GcReport report = gcService.collect(false);
+
+        assertEquals(3, report.getDeleted());
+        assertFalse(Files.exists(dir.resolve("file/venue/aa/bb/orphan.jpg")));
+        assertFalse(Files.exists(dir.resolve("file/venue/.tmp/upload1.part")));
+        assertFalse(Files.exists(dir.resolve("file/user/old.png")));
+        assertTrue(Files.exists(dir.resolve("file/venue/aa/bb/ref.png")));
+        assertTrue(Files.exists(dir.resolve("file/venue/aa/bb/ref_w64.png")));
+        assertTrue(Files.exists(dir.resolve("file/venue/aa/bb/new.jpg")));
+        assertTrue(Files.exists(dir.resolve("file/user/u.png")));
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("file/user/a.png", UploadGcServiceImpl.normalize("/file/user/a.png"));
+        assertNull(UploadGcServiceImpl.normalize(""));
+        assertNull(UploadGcServiceImpl.normalize("http://example.com/a.png"));
+        assertNull(UploadGcServiceImpl.normalize(null));
+    }
+}
@@ -0,0 +1,105 @@
+package com.demo.service.impl;
+
+import com.demo.entity.vo.UploadForm;
+import com.demo.service.ThumbnailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UploadServiceImplTest {
+    private static final String BOUNDARY = "----test-boundary";
+
+    @Mock
+    private ThumbnailService thumbnailService;
+
+    @InjectMocks
+    private UploadServiceImpl uploadService;
+
+    @BeforeEach
+    void setUp() {
+        uploadService.maxFileSize = 1024;
+        uploadService.maxRequestSize = 4096;
+    }
+
+    private static String field(String name, String value) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+    }
+
+    private static String file(String filename, String contentType, String content) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"picture\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n"
+                + content + "\r\n";
+    }
+
+    // 未经 MultipartResolver 解析的原始请求
+    private static MockHttpServletRequest request(String... parts) {
+        StringBuilder body = new StringBuilder();
+        for (String part : parts) {
+            body.append(part);
+        }
+        body.append("--").append(BOUNDARY).append("--\r\n");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/addVenue.do");
+        request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+        request.setContent(body.toString().getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // 没选图片时只解析字段，中文按 UTF-8 读
+    @Test
+    void testRead_FieldsWithoutPicture() throws Exception {
+        UploadForm form = uploadService.read(request(field("venueName", "羽毛球馆"), field("price", "100"),
+                file("", "application/octet-stream", "")), "venue");
+
+        assertEquals("羽毛球馆", form.get("venueName"));
+        assertEquals(100, form.getInt("price"));
+        assertEquals("", form.getPicture());
+        verify(thumbnailService).generate("");
+    }
+
+    // 不是图片时在写入任何内容之前拒绝
+    @Test
+    void testRead_RejectsNonImage() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> uploadService.read(request(file("run.sh", "text/x-sh", "echo")), "venue"));
+        assertEquals("只能上传图片", e.getMessage());
+
+        assertThrows(RuntimeException.class,
+                () -> uploadService.read(request(file("fake.png", "text/html", "<html>")), "user"));
+        verifyNoInteractions(thumbnailService);
+    }
+
+    // 声明的长度超过上限时不读请求体
+    @Test
+    void testRead_RejectsOversizedRequest() {
+        uploadService.maxRequestSize = 10;
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> uploadService.read(request(field("venueName", "场馆")), "venue"));
+        assertEquals("上传内容过大", e.getMessage());
+    }
+
+    @Test
+    void testRead_NotMultipart() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/updateUser.do");
+        assertThrows(RuntimeException.class, () -> uploadService.read(request, "user"));
+    }
+
+    @Test
+    void testCheckImage() {
+        UploadServiceImpl.checkImage("a.JPG", "image/jpeg");
+        UploadServiceImpl.checkImage("a.webp", null);
+        assertThrows(RuntimeException.class, () -> UploadServiceImpl.checkImage("noext", "image/png"));
+    }
+}
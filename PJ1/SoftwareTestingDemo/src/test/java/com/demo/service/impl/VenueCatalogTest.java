@@ -0,0 +1,79 @@
+package com.demo.service.impl;
+
+import com.demo.dao.VenueDao;
+import com.demo.entity.Venue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueCatalogTest {
+
+    @Mock
+    private VenueDao venueDao;
+
+    @InjectMocks
+    private VenueCatalog venueCatalog;
+
+    private Venue venue(int venueID, String venueName) {
+        Venue venue = new Venue();
+        venue.setVenueID(venueID);
+        venue.setVenueName(venueName);
+        venue.setPrice(100);
+        return venue;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(venueDao.findAll()).thenReturn(Arrays.asList(venue(2, "场馆2"), venue(1, "场馆1")));
+        venueCatalog.reload();
+    }
+
+    // 按 id、名称查都不再访问数据库
+    @Test
+    void testLookups() {
+        assertEquals("场馆1", venueCatalog.findByID(1).getVenueName());
+        assertEquals(2, venueCatalog.findByName("场馆2").getVenueID());
+        assertEquals("场馆2", venueCatalog.nameOf(2));
+        assertNull(venueCatalog.findByID(3));
+        assertNull(venueCatalog.findByName("不存在"));
+        verify(venueDao, times(1)).findAll();
+    }
+
+    @Test
+    void testFindAll_SortedByID() {
+        List<Venue> all = venueCatalog.findAll();
+        assertEquals(1, all.get(0).getVenueID());
+        assertEquals(2, all.get(1).getVenueID());
+    }
+
+    // 调用方修改取出的对象不影响目录
+    @Test
+    void testReturnsCopies() {
+        venueCatalog.findByID(1).setPrice(999);
+        venueCatalog.findAll().get(0).setVenueName("改名");
+
+        assertEquals(100, venueCatalog.findByID(1).getPrice());
+        assertEquals("场馆1", venueCatalog.nameOf(1));
+    }
+
+    // 没有事务时修改后立即重建
+    @Test
+    void testChanged_Reloads() {
+        when(venueDao.findAll()).thenReturn(Collections.singletonList(venue(1, "新场馆")));
+
+        venueCatalog.changed();
+        assertEquals("新场馆", venueCatalog.nameOf(1));
+        assertNull(venueCatalog.findByName("场馆2"));
+    }
+}
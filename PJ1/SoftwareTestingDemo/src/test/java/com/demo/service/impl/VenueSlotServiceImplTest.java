@@ -0,0 +1,146 @@
+package com.demo.service.impl;
+
+import com.demo.dao.BookingSlotDao;
+import com.demo.dao.OrderDao;
+import com.demo.entity.BookingSlot;
+import com.demo.entity.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.demo.service.OrderService.STATE_NO_AUDIT;
+import static com.demo.service.OrderService.STATE_REJECT;
+import static com.demo.service.OrderService.STATE_WAIT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VenueSlotServiceImplTest {
+
+    @Mock
+    private OrderDao orderDao;
+
+    @Mock
+    private BookingSlotDao bookingSlotDao;
+
+    @InjectMocks
+    private VenueSlotServiceImpl venueSlotService;
+
+    private LocalDate day;
+
+    private final List<BookingSlot> ledger = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        day = LocalDate.now().plusDays(1);
+        venueSlotService.ttl = 60000;
+        // 台账里订单1占用10、11点
+        ledger.add(slot(1, 10));
+        ledger.add(slot(1, 11));
+    }
+
+    private BookingSlot slot(int orderID, int hour) {
+        return new BookingSlot(0, 7, day.atTime(hour, 0), orderID);
+    }
+
+    private void stubLedger() {
+        when(bookingSlotDao.findByVenueIDAndSlotStartGreaterThanEqualAndSlotStartLessThan(eq(7), any(), any()))
+                .thenAnswer(invocation -> new ArrayList<>(ledger));
+    }
+
+    private Order order(int orderID, int hour, int hours, int state) {
+        Order order = new Order();
+        order.setOrderID(orderID);
+        order.setVenueID(7);
+        order.setStartTime(day.atTime(hour, 0));
+        order.setHours(hours);
+        order.setState(state);
+        return order;
+    }
+
+    // 从台账加载，ttl 内不再查库
+    @Test
+    void testLoadFromLedger() {
+        stubLedger();
+        assertEquals(Arrays.asList(10, 11), venueSlotService.findOccupiedHours(7, day, 0));
+        assertEquals(Arrays.asList(10, 11), venueSlotService.findOccupiedHours(7, day, 0));
+        verify(bookingSlotDao, times(1)).findByVenueIDAndSlotStartGreaterThanEqualAndSlotStartLessThan(
+                7, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    // 其他节点写进台账的预订在 ttl 过后可见
+    @Test
+    void testReloadAfterTtl() {
+        stubLedger();
+        venueSlotService.ttl = -1;
+        venueSlotService.findOccupiedHours(7, day, 0);
+        ledger.add(slot(3, 20));
+
+        assertEquals(Arrays.asList(10, 11, 20), venueSlotService.findOccupiedHours(7, day, 0));
+    }
+
+    // 本节点的新订单与重叠订单立即可见
+    @Test
+    void testOccupyOverlap() {
+        stubLedger();
+        venueSlotService.findOccupiedHours(7, day, 0);
+        venueSlotService.occupy(order(2, 11, 3, STATE_NO_AUDIT));
+        assertEquals(Arrays.asList(10, 11, 12, 13), venueSlotService.findOccupiedHours(7, day, 0));
+
+        venueSlotService.release(1);
+        assertEquals(Arrays.asList(11, 12, 13), venueSlotService.findOccupiedHours(7, day, 0));
+    }
+
+    // 修改订单时排除自身
+    @Test
+    void testExcludeOrder() {
+        stubLedger();
+        venueSlotService.findOccupiedHours(7, day, 0);
+        venueSlotService.occupy(order(2, 15, 1, STATE_NO_AUDIT));
+        assertEquals(Collections.singletonList(15), venueSlotService.findOccupiedHours(7, day, 1));
+    }
+
+    // 修改订单时间后旧时段被释放
+    @Test
+    void testOccupyMovesOrder() {
+        stubLedger();
+        venueSlotService.findOccupiedHours(7, day, 0);
+        venueSlotService.occupy(order(1, 18, 1, STATE_NO_AUDIT));
+        assertEquals(Collections.singletonList(18), venueSlotService.findOccupiedHours(7, day, 0));
+    }
+
+    // 拒绝状态不占用时段
+    @Test
+    void testRejectedOrderNotIndexed() {
+        stubLedger();
+        venueSlotService.findOccupiedHours(7, day, 0);
+        venueSlotService.occupy(order(1, 10, 2, STATE_REJECT));
+        assertTrue(venueSlotService.findOccupiedHours(7, day, 0).isEmpty());
+    }
+
+    // 今天之前回退到订单表
+    @Test
+    void testPastDateFallsBackToDao() {
+        LocalDate past = LocalDate.now().minusDays(3);
+        Order old = order(9, 8, 2, STATE_WAIT);
+        old.setStartTime(LocalDateTime.of(past, old.getStartTime().toLocalTime()));
+        when(orderDao.findByVenueIDAndStartTimeIsBetween(anyInt(), any(), any())).thenReturn(Collections.singletonList(old));
+
+        assertEquals(Arrays.asList(8, 9), venueSlotService.findOccupiedHours(7, past, 0));
+        verify(orderDao).findByVenueIDAndStartTimeIsBetween(7, past.atStartOfDay(), past.plusDays(1).atStartOfDay());
+        verifyNoInteractions(bookingSlotDao);
+    }
+}
@@ -0,0 +1,107 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSenderTest {
+
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.write(dir.resolve(HASH + ".png"), "0123456789".getBytes());
+        request = new MockHttpServletRequest("GET", "/file/venue/ba/78/" + HASH + ".png");
+        response = new MockHttpServletResponse();
+    }
+
+    // 按内容命名的文件：强 ETag、长期缓存
+    @Test
+    void testSend_ContentAddressed() throws Exception {
+        FileSender.send(file, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+        assertEquals("public, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+        assertEquals("image/png", response.getContentType());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    @Test
+    void testSend_NotModified() throws Exception {
+        request.addHeader("If-None-Match", "\"" + HASH + "\"");
+        FileSender.send(file, request, response);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testSend_Range() throws Exception {
+        request.addHeader("Range", "bytes=2-5");
+        FileSender.send(file, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void testSend_RangeNotSatisfiable() throws Exception {
+        request.addHeader("Range", "bytes=20-");
+        FileSender.send(file, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    // If-Range 的 ETag 不一致时返回整个文件
+    @Test
+    void testSend_IfRangeMismatch() throws Exception {
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"old\"");
+        FileSender.send(file, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    // 支持 sendfile 时不自己写内容，交给连接器
+    @Test
+    void testSend_Sendfile() throws Exception {
+        Path big = Files.write(dir.resolve(HASH + ".jpg"), new byte[(int) FileSender.SENDFILE_MIN_SIZE]);
+        request.setAttribute(FileSender.SENDFILE_SUPPORT, Boolean.TRUE);
+        FileSender.send(big, request, response);
+
+        assertEquals(big.toAbsolutePath().toString(), request.getAttribute(FileSender.SENDFILE_FILENAME));
+        assertEquals(0L, request.getAttribute(FileSender.SENDFILE_START));
+        assertEquals(FileSender.SENDFILE_MIN_SIZE, request.getAttribute(FileSender.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    // 旧的随机文件名可能被覆盖，只缓存一小时
+    @Test
+    void testSend_LegacyName() throws Exception {
+        Path legacy = Files.write(dir.resolve("3f2a-uuid.jpg"), "x".getBytes());
+        FileSender.send(legacy, request, response);
+
+        assertEquals("public, max-age=3600", response.getHeader("Cache-Control"));
+        assertNotEquals("\"" + HASH + "\"", response.getHeader("ETag"));
+    }
+}
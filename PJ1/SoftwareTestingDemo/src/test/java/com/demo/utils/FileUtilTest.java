@@ -0,0 +1,72 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUtilTest {
+
+    @TempDir
+    Path dir;
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("picture", name, "image/png", content.getBytes());
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    // 按内容哈希分两级目录存放
+    @Test
+    void testSavePicture_ShardedByHash() throws Exception {
+        String path = FileUtil.savePicture(dir.toString(), file("a.PNG", "abc"));
+
+        // "abc" 的 SHA-256
+        assertEquals("ba/78/ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad.png", path);
+        assertArrayEquals("abc".getBytes(), Files.readAllBytes(dir.resolve(path)));
+    }
+
+    // 内容相同只存一份，临时文件不留下
+    @Test
+    void testSavePicture_Dedup() throws Exception {
+        String first = FileUtil.savePicture(dir.toString(), file("a.png", "same"));
+        String second = FileUtil.savePicture(dir.toString(), file("b.png", "same"));
+        String other = FileUtil.savePicture(dir.toString(), file("c.png", "other"));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(2, countFiles());
+    }
+
+    // 再次上传同样内容时换成新文件，修改时间刷新，清理任务不会把它当孤儿删掉
+    @Test
+    void testSavePicture_DedupRefreshesMtime() throws Exception {
+        String path = FileUtil.savePicture(dir.toString(), file("a.png", "same"));
+        Path saved = dir.resolve(path);
+        Files.setLastModifiedTime(saved, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(48)));
+
+        FileUtil.savePicture(dir.toString(), file("b.png", "same"));
+
+        assertTrue(Files.getLastModifiedTime(saved).toMillis() > System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        assertArrayEquals("same".getBytes(), Files.readAllBytes(saved));
+    }
+
+    @Test
+    void testSuffix() {
+        assertEquals(".jpg", FileUtil.suffix("photo.JPG"));
+        assertEquals("", FileUtil.suffix("noext"));
+        assertEquals("", FileUtil.suffix("a.b/../x"));
+        assertEquals("", FileUtil.suffix(null));
+    }
+}
@@ -0,0 +1,68 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUtilTest {
+
+    // 缩略图和原图同目录，png/gif 保留透明用 png，其他用 jpg
+    @Test
+    void testVariantPath() {
+        assertEquals("file/venue/ab/cd/hash_w320.jpg", ImageUtil.variantPath("file/venue/ab/cd/hash.JPEG", ImageUtil.CARD));
+        assertEquals("file/user/ab/cd/hash_w64.png", ImageUtil.variantPath("file/user/ab/cd/hash.png", ImageUtil.AVATAR));
+        assertEquals("file/user/ab/cd/hash_w64.jpg", ImageUtil.variantPath("file/user/ab/cd/hash", ImageUtil.AVATAR));
+    }
+
+    // 不是上传目录里的图片不处理
+    @Test
+    void testVariantPath_NotUpload() {
+        assertNull(ImageUtil.variantPath(null, ImageUtil.CARD));
+        assertNull(ImageUtil.variantPath("", ImageUtil.CARD));
+        assertNull(ImageUtil.variantPath("venue.jpg", ImageUtil.CARD));
+        assertNull(ImageUtil.variantPath("file/../application.yml", ImageUtil.CARD));
+    }
+
+    // 缩略图还没生成时用原图
+    @Test
+    void testVariant_FallsBackToOriginal() {
+        assertEquals("file/venue/00/00/missing.png", ImageUtil.variant("file/venue/00/00/missing.png", ImageUtil.CARD));
+        assertEquals("", ImageUtil.variant("", ImageUtil.CARD));
+        assertNull(ImageUtil.variant(null, ImageUtil.AVATAR));
+    }
+
+    @TempDir
+    Path dir;
+
+    // 文件很小但声明了超大画布，不解码直接拒绝
+    @Test
+    void testRead_RejectsHugeCanvas() throws Exception {
+        Path file = dir.resolve("huge.png");
+        ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        byte[] bytes = Files.readAllBytes(file);
+        // IHDR 的宽高在第16~23字节
+        ByteBuffer.wrap(bytes, 16, 8).putInt(50000).putInt(50000);
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> ImageUtil.read(file));
+    }
+
+    @Test
+    void testRead_NormalImage() throws Exception {
+        Path file = dir.resolve("small.png");
+        ImageIO.write(new BufferedImage(4, 3, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+
+        BufferedImage image = ImageUtil.read(file);
+        assertEquals(4, image.getWidth());
+        assertEquals(3, image.getHeight());
+        assertNull(ImageUtil.read(Files.write(dir.resolve("text.png"), "not an image".getBytes())));
+    }
+}
@@ -0,0 +1,51 @@
+package com.demo.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.clear();
+    }
+
+    // 按第一次出现的顺序输出，最后是总耗时
+    @Test
+    void testHeader() {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.enter(RequestTiming.SERVICE);
+        RequestTiming.enter(RequestTiming.DB);
+        RequestTiming.exit(RequestTiming.DB);
+        RequestTiming.exit(RequestTiming.SERVICE);
+
+        assertTrue(timing.header().matches("service;dur=\\d+\\.\\d, db;dur=\\d+\\.\\d, total;dur=\\d+\\.\\d"));
+    }
+
+    // 同类嵌套只算最外层，多余的 exit 不影响
+    @Test
+    void testNestedSpansCountedOnce() throws Exception {
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.enter(RequestTiming.SERVICE);
+        RequestTiming.enter(RequestTiming.SERVICE);
+        Thread.sleep(20);
+        RequestTiming.exit(RequestTiming.SERVICE);
+        RequestTiming.exit(RequestTiming.SERVICE);
+        RequestTiming.exit(RequestTiming.SERVICE);
+
+        double service = Double.parseDouble(timing.header().replaceAll("service;dur=([\\d.]+),.*", "$1"));
+        double total = Double.parseDouble(timing.header().replaceAll(".*total;dur=([\\d.]+)", "$1"));
+        assertTrue(service >= 20);
+        assertTrue(service <= total);
+    }
+
+    // 没有开始计时的线程上什么也不做
+    @Test
+    void testNoTiming() {
+        RequestTiming.enter(RequestTiming.DB);
+        RequestTiming.exit(RequestTiming.DB);
+        assertNull(RequestTiming.current());
+    }
+}